@@ -0,0 +1,97 @@
+package com.ludonexus.battleforge.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit driven by latency (gradient algorithm). The recent latency is compared to
+ * the no-load latency (the lowest seen, drifting slowly upwards so it can follow a lasting
+ * change): while they stay close the limit grows by about sqrt(limit), and once requests start
+ * queueing it shrinks in proportion. Acquiring is a CAS on the in-flight count, only the samples
+ * take a lock.
+ */
+public class AdaptiveLimit {
+    private static final double SHORT_WEIGHT = 0.1;
+    private static final double BASELINE_DRIFT = 0.0001;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // Latences en nanosecondes, protégées par this
+    private double shortLatency;
+    private double baselineLatency;
+    private boolean sampled;
+
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+    }
+
+    /**
+     * Takes a slot if fewer than share * limit requests are in flight (at least one slot).
+     */
+    public boolean tryAcquire(double share) {
+        int max = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= max) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Libère sans échantillon : requête en erreur ou refusée plus loin
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        onSample(latencyNanos, inFlightBefore);
+    }
+
+    private synchronized void onSample(long latencyNanos, int inFlightBefore) {
+        if (!sampled) {
+            shortLatency = latencyNanos;
+            baselineLatency = latencyNanos;
+            sampled = true;
+            return;
+        }
+        shortLatency += (latencyNanos - shortLatency) * SHORT_WEIGHT;
+        baselineLatency = Math.min(latencyNanos, baselineLatency * (1 + BASELINE_DRIFT));
+        // Loin de la limite, la latence ne dit rien sur elle
+        if (inFlightBefore < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * baselineLatency / shortLatency));
+        double target = limit * gradient + Math.sqrt(limit);
+        double next = limit * (1 - smoothing) + target * smoothing;
+        limit = Math.max(minLimit, Math.min(next, maxLimit));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public synchronized double getLatencyMillis() {
+        return shortLatency / 1_000_000;
+    }
+
+    public synchronized double getBaselineLatencyMillis() {
+        return baselineLatency / 1_000_000;
+    }
+}
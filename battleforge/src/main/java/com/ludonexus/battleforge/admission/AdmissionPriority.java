@@ -0,0 +1,15 @@
+package com.ludonexus.battleforge.admission;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Priority of a controller method. Without it, GET requests are LOW and the others NORMAL.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AdmissionPriority {
+    Priority value();
+}
@@ -0,0 +1,15 @@
+package com.ludonexus.battleforge.admission;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Controller method whose requests last far longer than the others (exports, batch jobs). They are
+ * admitted like any request, but their latency is not fed to the adaptive limits.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LongRunning {
+}
@@ -0,0 +1,248 @@
+package com.ludonexus.battleforge.archive;
+
+import static com.ludonexus.battleforge.archive.ArchiveSegmentWriter.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import com.ludonexus.battleforge.dto.GameDTO;
+import com.ludonexus.battleforge.dto.ParticipationDTO;
+import com.ludonexus.battleforge.model.GameType;
+
+/**
+ * Read side of a segment written by {@link ArchiveSegmentWriter}. The file is memory-mapped once;
+ * a lookup binary-searches the id column in place and only inflates the block holding the game.
+ */
+public class ArchiveSegment implements AutoCloseable {
+    public interface PlayerSummaryVisitor {
+        void visit(long playerId, long totalScore, int[] bestScores);
+    }
+
+    public interface GameVisitor {
+        void visit(GameDTO game, LocalDateTime datetime);
+    }
+
+    private final Path file;
+    private final FileChannel channel;
+    private volatile MappedByteBuffer buffer;
+    private final int gameCount;
+    private final int blockSize;
+    private final int blockCount;
+    private final int playerCount;
+    private final int gameTypeCount;
+    private final int idsOffset;
+    private final int blocksOffset;
+    private final int playersOffset;
+
+    public ArchiveSegment(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        if (channel.size() > MAX_SEGMENT_SIZE) {
+            channel.close();
+            throw new IOException("Archive segment larger than " + MAX_SEGMENT_SIZE + " bytes: " + file);
+        }
+        this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            channel.close();
+            throw new IOException("Not an archive segment: " + file);
+        }
+        this.gameCount = buffer.getInt(8);
+        this.blockSize = buffer.getInt(12);
+        this.blockCount = buffer.getInt(16);
+        this.playerCount = buffer.getInt(20);
+        this.gameTypeCount = buffer.getInt(24);
+        this.idsOffset = HEADER_SIZE;
+        this.blocksOffset = idsOffset + gameCount * Long.BYTES;
+        this.playersOffset = blocksOffset + blockCount * BLOCK_ENTRY_SIZE;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int getGameCount() {
+        return gameCount;
+    }
+
+    public long getMinGameId() {
+        return gameCount == 0 ? Long.MAX_VALUE : mapped().getLong(idsOffset);
+    }
+
+    public long getMaxGameId() {
+        return gameCount == 0 ? Long.MIN_VALUE : mapped().getLong(idsOffset + (gameCount - 1) * Long.BYTES);
+    }
+
+    public Optional<GameDTO> findGame(long gameId) {
+        ByteBuffer buffer = mapped();
+        int row = indexOf(buffer, gameId);
+        if (row < 0) return Optional.empty();
+
+        BlockLayout block = new BlockLayout(inflateBlock(buffer, row / blockSize));
+        int local = row % blockSize;
+        int first = 0;
+        for (int i = 0; i < local; i++) {
+            first += block.count(i);
+        }
+        return Optional.of(block.game(gameId, local, first));
+    }
+
+    // Parcourt les parties dans l'ordre des ids, un bloc décompressé à la fois
+    public void forEachGame(GameVisitor visitor) {
+        ByteBuffer buffer = mapped();
+        for (int b = 0; b < blockCount; b++) {
+            BlockLayout block = new BlockLayout(inflateBlock(buffer, b));
+            int first = 0;
+            for (int local = 0; local < block.n; local++) {
+                long gameId = buffer.getLong(idsOffset + (b * blockSize + local) * Long.BYTES);
+                visitor.visit(block.game(gameId, local, first), block.datetime(local));
+                first += block.count(local);
+            }
+        }
+    }
+
+    public void forEachPlayerSummary(PlayerSummaryVisitor visitor) {
+        ByteBuffer buffer = mapped();
+        int entrySize = 2 * Long.BYTES + gameTypeCount * Integer.BYTES;
+        int knownTypes = GameType.values().length;
+        for (int i = 0; i < playerCount; i++) {
+            int offset = playersOffset + i * entrySize;
+            int[] bests = new int[knownTypes];
+            for (int t = 0; t < knownTypes; t++) {
+                bests[t] = t < gameTypeCount
+                    ? buffer.getInt(offset + 2 * Long.BYTES + t * Integer.BYTES)
+                    : NULL_INT;
+            }
+            visitor.visit(buffer.getLong(offset), buffer.getLong(offset + Long.BYTES), bests);
+        }
+    }
+
+    private int indexOf(ByteBuffer buffer, long gameId) {
+        int low = 0;
+        int high = gameCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long id = buffer.getLong(idsOffset + mid * Long.BYTES);
+            if (id < gameId) low = mid + 1;
+            else if (id > gameId) high = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    private ByteBuffer inflateBlock(ByteBuffer buffer, int blockIndex) {
+        int entry = blocksOffset + blockIndex * BLOCK_ENTRY_SIZE;
+        int start = (int) buffer.getLong(entry);
+        int rawLength = buffer.getInt(entry + Long.BYTES);
+        int end = blockIndex + 1 < blockCount
+            ? (int) buffer.getLong(entry + BLOCK_ENTRY_SIZE)
+            : buffer.capacity();
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice(start, end - start));
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, read, rawLength - read);
+                // Bloc tronqué ou illisible : sans ce test la boucle ne progresserait plus
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Corrupted archive segment: " + file);
+                }
+                read += inflated;
+            }
+            if (read != rawLength) {
+                throw new IllegalStateException("Corrupted archive segment: " + file);
+            }
+            return ByteBuffer.wrap(raw);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted archive segment: " + file, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private ByteBuffer mapped() {
+        MappedByteBuffer mapped = buffer;
+        if (mapped == null) {
+            throw new IllegalStateException("Archive segment closed: " + file);
+        }
+        return mapped;
+    }
+
+    // Le mapping ne disparaît qu'une fois le buffer collecté : sous Windows le fichier ne peut pas être supprimé avant
+    @Override
+    public void close() throws IOException {
+        buffer = null;
+        channel.close();
+    }
+
+    private static class BlockLayout {
+        private final ByteBuffer block;
+        private final int n;
+        private final int typesOffset;
+        private final int hostsOffset;
+        private final int countsOffset;
+        private final int playersOffset;
+        private final int scoresOffset;
+        private final int victoriesOffset;
+
+        BlockLayout(ByteBuffer block) {
+            this.block = block;
+            this.n = block.getInt(0);
+            this.typesOffset = Integer.BYTES + n * Long.BYTES;
+            int maxScoresOffset = typesOffset + n;
+            this.hostsOffset = maxScoresOffset + n * Integer.BYTES;
+            this.countsOffset = hostsOffset + n * Long.BYTES;
+            int m = 0;
+            for (int i = 0; i < n; i++) {
+                m += count(i);
+            }
+            this.playersOffset = countsOffset + n * Integer.BYTES;
+            this.scoresOffset = playersOffset + m * Long.BYTES;
+            this.victoriesOffset = scoresOffset + m * Integer.BYTES;
+        }
+
+        LocalDateTime datetime(int local) {
+            return fromEpochMicros(block.getLong(Integer.BYTES + local * Long.BYTES));
+        }
+
+        int count(int local) {
+            return block.getInt(countsOffset + local * Integer.BYTES);
+        }
+
+        GameDTO game(long gameId, int local, int first) {
+            GameDTO game = new GameDTO();
+            game.setId(gameId);
+            byte type = block.get(typesOffset + local);
+            game.setGameType(type == NULL_BYTE ? null : GameType.values()[type]);
+            long hostId = block.getLong(hostsOffset + local * Long.BYTES);
+            game.setHostId(hostId == NULL_LONG ? null : hostId);
+
+            int count = count(local);
+            List<ParticipationDTO> participations = new ArrayList<>(count);
+            for (int j = first; j < first + count; j++) {
+                ParticipationDTO participation = new ParticipationDTO();
+                participation.setGameId(gameId);
+                participation.setPlayerId(block.getLong(playersOffset + j * Long.BYTES));
+                int score = block.getInt(scoresOffset + j * Integer.BYTES);
+                participation.setScore(score == NULL_INT ? null : score);
+                byte victory = block.get(victoriesOffset + j);
+                participation.setVictory(victory == NULL_BYTE ? null : victory == 1);
+                participations.add(participation);
+            }
+            game.setParticipations(participations);
+            return game;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.ludonexus.battleforge.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.Deflater;
+
+import com.ludonexus.battleforge.model.Game;
+import com.ludonexus.battleforge.model.GameType;
+import com.ludonexus.battleforge.model.Participation;
+
+/**
+ * Writes an immutable archive segment.
+ *
+ * Layout (big endian):
+ * <pre>
+ * header   magic, version, gameCount, blockSize, blockCount, playerCount, gameTypeCount
+ * ids      long[gameCount]                      sorted game ids, uncompressed for binary search
+ * blocks   (long offset, int rawLength)[blockCount]
+ * players  (long playerId, long totalScore, int[gameTypeCount] bestScore)[playerCount]
+ * data     deflated blocks of blockSize games, each one stored column by column
+ * </pre>
+ */
+public final class ArchiveSegmentWriter {
+    static final int MAGIC = 0x4C4E5347; // "LNSG"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 7 * Integer.BYTES;
+    static final int BLOCK_ENTRY_SIZE = Long.BYTES + Integer.BYTES;
+    static final int BLOCK_SIZE = 1024;
+    // Les segments sont lus avec des offsets int
+    static final long MAX_SEGMENT_SIZE = Integer.MAX_VALUE;
+
+    static final int NULL_INT = Integer.MIN_VALUE;
+    static final long NULL_LONG = Long.MIN_VALUE;
+    static final byte NULL_BYTE = -1;
+
+    private ArchiveSegmentWriter() {
+    }
+
+    /**
+     * Writes the leading games that fit in one segment; the caller writes the rest into the next segment.
+     *
+     * @param games games sorted by id
+     * @param participationsByGame participations of these games, indexed by game id
+     * @return the number of games written
+     */
+    public static int write(Path file, List<Game> games, Map<Long, List<Participation>> participationsByGame)
+            throws IOException {
+        return write(file, games, participationsByGame, MAX_SEGMENT_SIZE);
+    }
+
+    static int write(Path file, List<Game> allGames, Map<Long, List<Participation>> participationsByGame,
+            long maxSegmentSize) throws IOException {
+        int gameTypeCount = GameType.values().length;
+        int playerEntrySize = 2 * Long.BYTES + gameTypeCount * Integer.BYTES;
+        Map<Long, long[]> playerTotals = new TreeMap<>();
+        Map<Long, int[]> playerBests = new TreeMap<>();
+
+        List<byte[]> blocks = new ArrayList<>();
+        List<Integer> rawLengths = new ArrayList<>();
+        long dataSize = 0;
+        int gameCount = 0;
+        while (gameCount < allGames.size()) {
+            List<Game> blockGames = allGames.subList(gameCount, Math.min(gameCount + BLOCK_SIZE, allGames.size()));
+            byte[] raw = encodeBlock(blockGames, participationsByGame);
+            byte[] block = deflate(raw);
+
+            Set<Long> newPlayers = new HashSet<>();
+            for (Game game : blockGames) {
+                for (Participation p : participationsByGame.getOrDefault(game.getId(), List.of())) {
+                    if (p.getScore() != null && !playerTotals.containsKey(p.getPlayerId())) {
+                        newPlayers.add(p.getPlayerId());
+                    }
+                }
+            }
+            long size = HEADER_SIZE
+                + (long) (gameCount + blockGames.size()) * Long.BYTES
+                + (long) (blocks.size() + 1) * BLOCK_ENTRY_SIZE
+                + (long) (playerTotals.size() + newPlayers.size()) * playerEntrySize
+                + dataSize + block.length;
+            if (size > maxSegmentSize) {
+                if (blocks.isEmpty()) {
+                    throw new IOException("A block of " + blockGames.size() + " games exceeds the segment size limit");
+                }
+                break;
+            }
+
+            blocks.add(block);
+            rawLengths.add(raw.length);
+            dataSize += block.length;
+            gameCount += blockGames.size();
+            for (Game game : blockGames) {
+                for (Participation p : participationsByGame.getOrDefault(game.getId(), List.of())) {
+                    if (p.getScore() == null) continue;
+                    playerTotals.computeIfAbsent(p.getPlayerId(), id -> new long[1])[0] += p.getScore();
+                    if (game.getGameType() != null) {
+                        int[] bests = playerBests.computeIfAbsent(p.getPlayerId(), id -> newBests(gameTypeCount));
+                        int ordinal = game.getGameType().ordinal();
+                        bests[ordinal] = Math.max(bests[ordinal], p.getScore());
+                    }
+                }
+            }
+        }
+        List<Game> games = allGames.subList(0, gameCount);
+
+        List<Long> playerIds = new ArrayList<>(playerTotals.keySet());
+        long dataOffset = HEADER_SIZE
+            + (long) games.size() * Long.BYTES
+            + (long) blocks.size() * BLOCK_ENTRY_SIZE
+            + (long) playerIds.size() * playerEntrySize;
+
+        ByteBuffer head = ByteBuffer.allocate((int) dataOffset);
+        head.putInt(MAGIC).putInt(VERSION)
+            .putInt(games.size()).putInt(BLOCK_SIZE).putInt(blocks.size())
+            .putInt(playerIds.size()).putInt(gameTypeCount);
+        for (Game game : games) {
+            head.putLong(game.getId());
+        }
+        long offset = dataOffset;
+        for (int i = 0; i < blocks.size(); i++) {
+            head.putLong(offset).putInt(rawLengths.get(i));
+            offset += blocks.get(i).length;
+        }
+        for (Long playerId : playerIds) {
+            head.putLong(playerId);
+            head.putLong(playerTotals.get(playerId)[0]);
+            for (int best : playerBests.getOrDefault(playerId, newBests(gameTypeCount))) {
+                head.putInt(best);
+            }
+        }
+        head.flip();
+
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            while (head.hasRemaining()) channel.write(head);
+            for (byte[] block : blocks) {
+                ByteBuffer buffer = ByteBuffer.wrap(block);
+                while (buffer.hasRemaining()) channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        return gameCount;
+    }
+
+    private static byte[] encodeBlock(List<Game> games, Map<Long, List<Participation>> participationsByGame)
+            throws IOException {
+        List<Participation> participations = new ArrayList<>();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeInt(games.size());
+        for (Game game : games) {
+            out.writeLong(toEpochMicros(game.getDatetime()));
+        }
+        for (Game game : games) {
+            out.writeByte(game.getGameType() == null ? NULL_BYTE : game.getGameType().ordinal());
+        }
+        for (Game game : games) {
+            out.writeInt(game.getMaxScore() == null ? NULL_INT : game.getMaxScore());
+        }
+        for (Game game : games) {
+            out.writeLong(game.getHostId() == null ? NULL_LONG : game.getHostId());
+        }
+        for (Game game : games) {
+            List<Participation> gameParticipations = participationsByGame.getOrDefault(game.getId(), List.of());
+            out.writeInt(gameParticipations.size());
+            participations.addAll(gameParticipations);
+        }
+
+        for (Participation p : participations) {
+            out.writeLong(p.getPlayerId());
+        }
+        for (Participation p : participations) {
+            out.writeInt(p.getScore() == null ? NULL_INT : p.getScore());
+        }
+        for (Participation p : participations) {
+            out.writeByte(p.getVictory() == null ? NULL_BYTE : (p.getVictory() ? 1 : 0));
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 64);
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static int[] newBests(int gameTypeCount) {
+        int[] bests = new int[gameTypeCount];
+        Arrays.fill(bests, NULL_INT);
+        return bests;
+    }
+
+    static long toEpochMicros(LocalDateTime datetime) {
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), datetime);
+    }
+
+    static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC).plus(micros, ChronoUnit.MICROS);
+    }
+}
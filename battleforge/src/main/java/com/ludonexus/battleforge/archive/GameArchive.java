@@ -0,0 +1,107 @@
+package com.ludonexus.battleforge.archive;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ludonexus.battleforge.dto.GameDTO;
+import com.ludonexus.battleforge.model.GameType;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Cold storage of archived games: the open segments plus, per player, the archived points and
+ * best scores so live aggregates can add them without reading the segments again.
+ */
+@Component
+public class GameArchive {
+    public static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final List<ArchiveSegment> segments = new CopyOnWriteArrayList<>();
+    private final Map<Long, Long> archivedPoints = new ConcurrentHashMap<>();
+    private final Map<Long, int[]> archivedBestScores = new ConcurrentHashMap<>();
+
+    public GameArchive(@Value("${ludonexus.archive.directory:archive}") Path directory) {
+        this.directory = directory;
+    }
+
+    @PostConstruct
+    public void load() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+        for (Path file : files) {
+            register(new ArchiveSegment(file));
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public void register(ArchiveSegment segment) {
+        segments.add(segment);
+        addSummaries(segment);
+    }
+
+    public Optional<GameDTO> findGame(Long gameId) {
+        for (ArchiveSegment segment : segments) {
+            if (gameId >= segment.getMinGameId() && gameId <= segment.getMaxGameId()) {
+                Optional<GameDTO> game = segment.findGame(gameId);
+                if (game.isPresent()) return game;
+            }
+        }
+        return Optional.empty();
+    }
+
+    public void forEachGame(ArchiveSegment.GameVisitor visitor) {
+        for (ArchiveSegment segment : segments) {
+            segment.forEachGame(visitor);
+        }
+    }
+
+    public long getArchivedPoints(Long playerId) {
+        return archivedPoints.getOrDefault(playerId, 0L);
+    }
+
+    public Integer getArchivedBestScore(Long playerId, GameType gameType) {
+        int[] bests = archivedBestScores.get(playerId);
+        if (bests == null || bests[gameType.ordinal()] == ArchiveSegmentWriter.NULL_INT) return null;
+        return bests[gameType.ordinal()];
+    }
+
+    private synchronized void addSummaries(ArchiveSegment segment) {
+        segment.forEachPlayerSummary((playerId, totalScore, bestScores) -> {
+            archivedPoints.merge(playerId, totalScore, Long::sum);
+            archivedBestScores.merge(playerId, bestScores, (current, added) -> {
+                int[] merged = current.clone();
+                for (int t = 0; t < merged.length; t++) {
+                    merged[t] = Math.max(merged[t], added[t]);
+                }
+                return merged;
+            });
+        });
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        for (ArchiveSegment segment : segments) {
+            segment.close();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.ludonexus.battleforge.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "ludonexus.admission")
+public class AdmissionProperties {
+    // Désactivé : aucune requête n'est refusée, les compteurs restent à zéro
+    private boolean enabled = false;
+
+    // Limite adaptative de chaque endpoint
+    private int initialLimit = 20;
+    private int minLimit = 2;
+    private int maxLimit = 200;
+
+    // Limite adaptative commune à tous les endpoints (pool Tomcat et pool de connexions)
+    private int globalInitialLimit = 50;
+    private int globalMinLimit = 4;
+    private int globalMaxLimit = 400;
+
+    // Hausse de latence tolérée avant de réduire, et poids d'un échantillon dans la nouvelle limite
+    private double tolerance = 1.5;
+    private double smoothing = 0.2;
+
+    // Part de la limite globale utilisable par chaque priorité (CRITICAL : toute la limite)
+    private double normalShare = 0.8;
+    private double lowShare = 0.5;
+
+    // Quota par client (en-tête client-header, sinon adresse IP), hors requêtes CRITICAL
+    private double clientRate = 50;
+    private double clientBurst = 100;
+    private String clientHeader = "X-Client-Id";
+    private int maxClients = 10000;
+
+    // L'en-tête client-header n'est cru que venant de ces adresses, sinon n'importe qui prendrait l'identité d'un autre
+    private List<String> trustedAddresses = new ArrayList<>(List.of("127.0.0.1", "0:0:0:0:0:0:0:1"));
+    // Appels entre services : pas de quota par client, et au moins la priorité NORMAL
+    private List<String> serviceClients = new ArrayList<>(List.of("BattleForge", "PlayerSphere"));
+
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
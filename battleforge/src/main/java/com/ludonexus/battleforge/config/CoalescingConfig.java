@@ -0,0 +1,18 @@
+package com.ludonexus.battleforge.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ludonexus.battleforge.concurrent.SingleFlight;
+import com.ludonexus.battleforge.dto.GameDTO;
+
+@Configuration
+public class CoalescingConfig {
+
+    // Un chargement = la partie puis ses participations
+    @Bean
+    public SingleFlight<Long, GameDTO> gameReads(@Value("${ludonexus.coalescing.enabled:true}") boolean enabled) {
+        return new SingleFlight<>("games", 2, enabled);
+    }
+}
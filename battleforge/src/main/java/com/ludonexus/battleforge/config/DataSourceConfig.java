@@ -0,0 +1,83 @@
+package com.ludonexus.battleforge.config;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.AllNestedConditions;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.NoneNestedConditions;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * JDBC DataSource of the single database setup (no replica, no sharding).
+ * Declared here because Spring Boot's DataSourceAutoConfiguration backs off as soon as an R2DBC
+ * ConnectionFactory exists (reactive read path), which would leave JPA without a DataSource.
+ * Also stops the startup when both the read replica and sharding are configured.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DataSourceConfig {
+
+    @Bean
+    @Primary
+    @Conditional(SingleDatabaseCondition.class)
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+    }
+
+    @Bean
+    @Conditional(ReplicaAndShardingCondition.class)
+    public static BeanFactoryPostProcessor replicaAndShardingCheck() {
+        return beanFactory -> {
+            throw new IllegalStateException("ludonexus.datasource.replica and ludonexus.sharding cannot be configured together:"
+                + " both route the primary DataSource. Remove one of them.");
+        };
+    }
+
+    static class SingleDatabaseCondition extends NoneNestedConditions {
+        SingleDatabaseCondition() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnProperty(prefix = "ludonexus.datasource.replica", name = "url")
+        static class ReplicaConfigured {
+        }
+
+        @ConditionalOnProperty(prefix = "ludonexus.sharding", name = "shards[0].url")
+        static class ShardingConfigured {
+        }
+    }
+
+    static class ReplicaAndShardingCondition extends AllNestedConditions {
+        ReplicaAndShardingCondition() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnProperty(prefix = "ludonexus.datasource.replica", name = "url")
+        static class ReplicaConfigured {
+        }
+
+        @ConditionalOnProperty(prefix = "ludonexus.sharding", name = "shards[0].url")
+        static class ShardingConfigured {
+        }
+    }
+
+    static class NoShardingCondition extends NoneNestedConditions {
+        NoShardingCondition() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnProperty(prefix = "ludonexus.sharding", name = "shards[0].url")
+        static class ShardingConfigured {
+        }
+    }
+}
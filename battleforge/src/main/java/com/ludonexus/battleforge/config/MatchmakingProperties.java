@@ -0,0 +1,22 @@
+package com.ludonexus.battleforge.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "ludonexus.matchmaking")
+public class MatchmakingProperties {
+    private int playersPerGame = 2;
+    private int maxLevel = 100;
+    // Nombre de tranches de points par niveau, et largeur d'une tranche
+    private int pointBands = 10;
+    private int pointBandWidth = 500;
+    // La fenêtre de recherche s'élargit d'un niveau et d'une tranche à chaque intervalle, jusqu'au maximum
+    private Duration widenEvery = Duration.ofSeconds(5);
+    private int maxWindow = 20;
+    private Duration tick = Duration.ofMillis(50);
+    private Duration matchedRetention = Duration.ofMinutes(5);
+}
@@ -0,0 +1,9 @@
+package com.ludonexus.battleforge.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(RatingProperties.class)
+public class RatingConfig {
+}
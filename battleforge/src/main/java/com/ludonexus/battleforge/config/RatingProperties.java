@@ -0,0 +1,22 @@
+package com.ludonexus.battleforge.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "ludonexus.rating")
+public class RatingProperties {
+    // Valeurs initiales et constante de volatilité (tau) de Glicko-2
+    private double initialRating = 1500;
+    private double initialDeviation = 350;
+    private double initialVolatility = 0.06;
+    private double tau = 0.5;
+    // 0 : autant de threads que de processeurs pour le recalcul complet
+    private int parallelism = 0;
+    private int fetchSize = 5000;
+    private Duration publishInterval = Duration.ofSeconds(5);
+    private int publishBatchSize = 1000;
+}
@@ -0,0 +1,75 @@
+package com.ludonexus.battleforge.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Polls the replica replay lag and disables read routing to it while it is
+ * unreachable or further behind the primary than the configured maximum.
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // Lag nul si tout le WAL reçu est rejoué (un primaire inactif ne fait pas vieillir le replay timestamp)
+    private static final String LAG_QUERY = """
+        SELECT CASE
+            WHEN NOT pg_is_in_recovery() THEN 0
+            WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+            ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+        END
+        """;
+
+    private final HikariDataSource replica;
+    private final Duration maxLag;
+    private volatile boolean usable = true;
+
+    public ReplicaLagMonitor(HikariDataSource replica, Duration maxLag) {
+        this.replica = replica;
+        this.maxLag = maxLag;
+    }
+
+    public HikariDataSource getReplica() {
+        return replica;
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    @Scheduled(fixedDelayString = "${ludonexus.datasource.replica.lag-check-interval:1s}")
+    public void checkLag() {
+        boolean nowUsable;
+        try (Connection connection = replica.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+            rs.next();
+            long lagMillis = rs.getLong(1);
+            nowUsable = lagMillis <= maxLag.toMillis();
+            if (!nowUsable && usable) {
+                log.warn("Replica lag {} ms exceeds {}, routing reads to primary", lagMillis, maxLag);
+            }
+        } catch (Exception e) {
+            nowUsable = false;
+            if (usable) {
+                log.warn("Replica unreachable, routing reads to primary: {}", e.getMessage());
+            }
+        }
+        if (nowUsable && !usable) {
+            log.info("Replica caught up, routing reads back to replica");
+        }
+        usable = nowUsable;
+    }
+
+    @Override
+    public void close() {
+        replica.close();
+    }
+}
@@ -0,0 +1,18 @@
+package com.ludonexus.battleforge.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "ludonexus.datasource.replica")
+public class ReplicaProperties {
+    private String url;
+    private String username;
+    private String password;
+    private int maximumPoolSize = 10;
+    private Duration maxLag = Duration.ofSeconds(5);
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+}
@@ -0,0 +1,96 @@
+package com.ludonexus.battleforge.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.ManagedBeanSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.ludonexus.battleforge.shard.ShardDataSources;
+import com.ludonexus.battleforge.shard.ShardDatabaseClients;
+import com.ludonexus.battleforge.shard.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Option;
+
+/**
+ * The shard DataSources are only created when ludonexus.sharding.shards is configured,
+ * otherwise Spring Boot's single DataSource is used as before.
+ * Not compatible with the read replica routing (both define the primary DataSource): the
+ * application refuses to start when both are configured (see DataSourceConfig).
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    // GameIdGenerator est instancié par Spring (et non par réflexion) pour recevoir le GameIdAllocator
+    @Bean
+    public HibernatePropertiesCustomizer gameIdGeneratorCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(ManagedBeanSettings.ALLOW_EXTENSIONS_IN_CDI, true);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "ludonexus.sharding", name = "shards[0].url")
+    public ShardDataSources shardDataSources(ShardingProperties shardingProperties) {
+        Map<String, HikariDataSource> dataSources = new LinkedHashMap<>();
+        for (ShardingProperties.Shard shard : shardingProperties.getShards()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(shard.getName());
+            dataSource.setJdbcUrl(shard.getUrl());
+            dataSource.setUsername(shard.getUsername());
+            dataSource.setPassword(shard.getPassword());
+            dataSource.setMaximumPoolSize(shardingProperties.getMaximumPoolSize());
+            if (dataSources.put(shard.getName(), dataSource) != null) {
+                throw new IllegalArgumentException("Duplicate shard name: " + shard.getName());
+            }
+        }
+        return new ShardDataSources(dataSources);
+    }
+
+    // Même shards pour le chemin de lecture réactif : l'URL JDBC est reprise en r2dbc:pool:
+    @Bean
+    @ConditionalOnProperty(prefix = "ludonexus.sharding", name = "shards[0].url")
+    public ShardDatabaseClients shardDatabaseClients(ShardingProperties shardingProperties) {
+        Map<String, ConnectionFactory> connectionFactories = new LinkedHashMap<>();
+        for (ShardingProperties.Shard shard : shardingProperties.getShards()) {
+            if (!shard.getUrl().startsWith("jdbc:")) {
+                throw new IllegalArgumentException("Shard " + shard.getName() + " url must be a JDBC url: " + shard.getUrl());
+            }
+            ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse("r2dbc:pool:" + shard.getUrl().substring("jdbc:".length()))
+                .mutate()
+                .option(Option.valueOf("maxSize"), shardingProperties.getMaximumPoolSize());
+            if (shard.getUsername() != null) {
+                options.option(ConnectionFactoryOptions.USER, shard.getUsername());
+            }
+            if (shard.getPassword() != null) {
+                options.option(ConnectionFactoryOptions.PASSWORD, shard.getPassword());
+            }
+            connectionFactories.put(shard.getName(), ConnectionFactories.get(options.build()));
+        }
+        return new ShardDatabaseClients(connectionFactories);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "ludonexus.sharding", name = "shards[0].url")
+    public DataSource dataSource(ShardDataSources shardDataSources) {
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(shardDataSources.mainShard());
+        routing.setTargetDataSources(new LinkedHashMap<>(shardDataSources.asMap()));
+        routing.setDefaultTargetDataSource(shardDataSources.asMap().get(shardDataSources.mainShard()));
+        routing.setLenientFallback(false);
+        routing.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,28 @@
+package com.ludonexus.battleforge.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "ludonexus.sharding")
+public class ShardingProperties {
+    // Le premier shard est le shard principal (séquence des ids de parties, tables non partitionnées)
+    private List<Shard> shards = new ArrayList<>();
+    // Noms des shards avant le dernier ajout/retrait, à renseigner le temps du rééquilibrage
+    private List<String> previousShards = new ArrayList<>();
+    private int virtualNodes = 128;
+    private int scatterThreads = 8;
+    private int maximumPoolSize = 10;
+
+    @Data
+    public static class Shard {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -1,13 +1,21 @@
 package com.ludonexus.battleforge.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class WebConfig {
+    // Identifie BattleForge auprès du contrôle d'admission de PlayerSphere (quota et priorité de service)
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(@Value("${spring.application.name}") String applicationName,
+            AdmissionProperties admissionProperties) {
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add((request, body, execution) -> {
+            request.getHeaders().set(admissionProperties.getClientHeader(), applicationName);
+            return execution.execute(request, body);
+        });
+        return restTemplate;
     }
 }
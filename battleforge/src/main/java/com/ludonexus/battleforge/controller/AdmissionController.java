@@ -0,0 +1,56 @@
+package com.ludonexus.battleforge.controller;
+
+import java.util.Comparator;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ludonexus.battleforge.admission.AdaptiveLimit;
+import com.ludonexus.battleforge.admission.AdmissionControl;
+import com.ludonexus.battleforge.dto.AdmissionStatsDTO;
+import com.ludonexus.battleforge.dto.EndpointAdmissionDTO;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/admin/admission")
+@RequiredArgsConstructor
+public class AdmissionController {
+    private final AdmissionControl admissionControl;
+
+    @GetMapping
+    public ResponseEntity<AdmissionStatsDTO> getStats() {
+        AdmissionStatsDTO stats = new AdmissionStatsDTO();
+        stats.setEnabled(admissionControl.isEnabled());
+        AdaptiveLimit globalLimit = admissionControl.getGlobalLimit();
+        stats.setGlobalLimit(globalLimit.getLimit());
+        stats.setGlobalInFlight(globalLimit.getInFlight());
+        stats.setGlobalLatencyMillis(globalLimit.getLatencyMillis());
+        stats.setClients(admissionControl.getClientCount());
+
+        for (AdmissionControl.Endpoint endpoint : admissionControl.getEndpoints()) {
+            EndpointAdmissionDTO dto = new EndpointAdmissionDTO();
+            dto.setEndpoint(endpoint.getName());
+            dto.setPriority(endpoint.getPriority());
+            dto.setLimit(endpoint.getLimit().getLimit());
+            dto.setInFlight(endpoint.getLimit().getInFlight());
+            dto.setLatencyMillis(endpoint.getLimit().getLatencyMillis());
+            dto.setBaselineLatencyMillis(endpoint.getLimit().getBaselineLatencyMillis());
+            dto.setAdmitted(endpoint.getAdmitted());
+            dto.setThrottled(endpoint.getThrottled());
+            dto.setShed(endpoint.getShed());
+            long total = dto.getAdmitted() + dto.getThrottled() + dto.getShed();
+            dto.setRejectionRatio(total > 0 ? (double) (dto.getThrottled() + dto.getShed()) / total : 0);
+            stats.getEndpoints().add(dto);
+
+            stats.setAdmitted(stats.getAdmitted() + dto.getAdmitted());
+            stats.setThrottled(stats.getThrottled() + dto.getThrottled());
+            stats.setShed(stats.getShed() + dto.getShed());
+        }
+        stats.getEndpoints().sort(Comparator.comparing(EndpointAdmissionDTO::getPriority)
+            .thenComparing(EndpointAdmissionDTO::getEndpoint));
+        return ResponseEntity.ok(stats);
+    }
+}
@@ -0,0 +1,32 @@
+package com.ludonexus.battleforge.controller;
+
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ludonexus.battleforge.admission.LongRunning;
+import com.ludonexus.battleforge.dto.ArchiveReportDTO;
+import com.ludonexus.battleforge.service.GameArchiveService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/archive")
+@RequiredArgsConstructor
+public class ArchiveController {
+    private final GameArchiveService gameArchiveService;
+
+    @PostMapping
+    @LongRunning
+    public ResponseEntity<ArchiveReportDTO> archiveGames(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before) {
+        return ResponseEntity.ok(before != null
+            ? gameArchiveService.archiveGamesBefore(before)
+            : gameArchiveService.archiveExpiredGames());
+    }
+}
@@ -0,0 +1,71 @@
+package com.ludonexus.battleforge.controller;
+
+import java.nio.channels.Channels;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.ludonexus.battleforge.admission.LongRunning;
+import com.ludonexus.battleforge.dto.ExportReportDTO;
+import com.ludonexus.battleforge.export.ExportFormat;
+import com.ludonexus.battleforge.export.ExportTable;
+import com.ludonexus.battleforge.service.ExportService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+public class ExportController {
+    private final ExportService exportService;
+
+    @GetMapping("/{table}")
+    @LongRunning
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String table,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) Long sinceId,
+            @RequestParam(required = false) String job) {
+        ExportTable exportTable;
+        ExportFormat exportFormat;
+        try {
+            exportTable = ExportTable.of(table);
+            exportFormat = ExportFormat.of(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        // Le corps est écrit après l'envoi du statut : tout ce qui peut donner un 400 est vérifié avant
+        if (job != null && !ExportService.isValidJob(job)) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> exportService.export(
+            exportTable, exportFormat, sinceId, job, Channels.newChannel(out));
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + exportTable.getTableName() + "." + exportFormat.getExtension() + "\"")
+            .body(body);
+    }
+
+    @PostMapping("/{table}/file")
+    @LongRunning
+    public ResponseEntity<ExportReportDTO> exportToFile(
+            @PathVariable String table,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) Long sinceId,
+            @RequestParam(required = false) String job) {
+        try {
+            return ResponseEntity.ok(exportService.exportToFile(ExportTable.of(table), ExportFormat.of(format), sinceId, job));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -13,6 +13,9 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.ludonexus.battleforge.admission.AdmissionPriority;
+import com.ludonexus.battleforge.admission.Priority;
+import com.ludonexus.battleforge.concurrent.SingleFlight;
 import com.ludonexus.battleforge.dto.GameDTO;
 import com.ludonexus.battleforge.dto.ParticipationDTO;
 import com.ludonexus.battleforge.dto.UpdateParticipationWithScoreRequestDTO;
@@ -26,6 +29,7 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class GameController {
     private final GameService gameService;
+    private final SingleFlight<Long, GameDTO> gameReads;
 
     @PostMapping
     public ResponseEntity<GameDTO> createGame(@Valid @RequestBody GameDTO gameDTO) {
@@ -34,7 +38,7 @@ public class GameController {
 
     @GetMapping("/{id}")
     public ResponseEntity<GameDTO> getGame(@PathVariable Long id) {
-        return ResponseEntity.ok(gameService.getGameById(id));
+        return ResponseEntity.ok(gameReads.load(id, () -> gameService.getGameById(id)));
     }
 
     @GetMapping
@@ -56,7 +60,7 @@ public class GameController {
 
     @GetMapping("/{id}/participations")
     public ResponseEntity<List<ParticipationDTO>> getParticipations(@PathVariable Long id) {
-        return ResponseEntity.ok(gameService.getGameById(id).getParticipations());
+        return ResponseEntity.ok(gameReads.load(id, () -> gameService.getGameById(id)).getParticipations());
     }
 
     @PostMapping("/{id}/participations")
@@ -68,6 +72,7 @@ public class GameController {
     }
 
     @PutMapping("/{id}/participations")
+    @AdmissionPriority(Priority.CRITICAL)
     public ResponseEntity<ParticipationDTO> updateParticipation(
         @PathVariable Long id,
         @Valid @RequestBody UpdateParticipationWithScoreRequestDTO participationRequestDTO) {
@@ -0,0 +1,41 @@
+package com.ludonexus.battleforge.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ludonexus.battleforge.dto.MatchmakingRequestDTO;
+import com.ludonexus.battleforge.dto.MatchmakingStatusDTO;
+import com.ludonexus.battleforge.service.MatchmakingService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/matchmaking")
+@RequiredArgsConstructor
+public class MatchmakingController {
+    private final MatchmakingService matchmakingService;
+
+    @PostMapping
+    public ResponseEntity<MatchmakingStatusDTO> enqueue(@Valid @RequestBody MatchmakingRequestDTO request) {
+        return ResponseEntity.ok(matchmakingService.enqueue(request));
+    }
+
+    @GetMapping("/{playerId}")
+    public ResponseEntity<MatchmakingStatusDTO> getStatus(@PathVariable Long playerId) {
+        return ResponseEntity.of(matchmakingService.getStatus(playerId));
+    }
+
+    @DeleteMapping("/{playerId}")
+    public ResponseEntity<Void> cancel(@PathVariable Long playerId) {
+        return matchmakingService.cancel(playerId)
+            ? ResponseEntity.noContent().build()
+            : ResponseEntity.notFound().build();
+    }
+}
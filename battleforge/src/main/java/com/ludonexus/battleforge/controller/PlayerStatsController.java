@@ -0,0 +1,37 @@
+package com.ludonexus.battleforge.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ludonexus.battleforge.dto.PlayerStatsDTO;
+import com.ludonexus.battleforge.service.PlayerStatsService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/stats/players")
+@RequiredArgsConstructor
+public class PlayerStatsController {
+    static final int MAX_IDS = 500;
+
+    private final PlayerStatsService playerStatsService;
+
+    @GetMapping("/{playerId}")
+    public ResponseEntity<List<PlayerStatsDTO>> getPlayerStats(@PathVariable Long playerId) {
+        return ResponseEntity.ok(playerStatsService.getPlayerStats(playerId));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<PlayerStatsDTO>> getPlayersStats(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(playerStatsService.getPlayersStats(ids));
+    }
+}
@@ -0,0 +1,33 @@
+package com.ludonexus.battleforge.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ludonexus.battleforge.admission.LongRunning;
+import com.ludonexus.battleforge.dto.PlayerRatingDTO;
+import com.ludonexus.battleforge.dto.RatingRecomputeReportDTO;
+import com.ludonexus.battleforge.service.RatingService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/ratings")
+@RequiredArgsConstructor
+public class RatingController {
+    private final RatingService ratingService;
+
+    @GetMapping("/{playerId}")
+    public ResponseEntity<PlayerRatingDTO> getRating(@PathVariable Long playerId) {
+        return ResponseEntity.of(ratingService.getRating(playerId));
+    }
+
+    @PostMapping("/recompute")
+    @LongRunning
+    public ResponseEntity<RatingRecomputeReportDTO> recompute() {
+        return ResponseEntity.ok(ratingService.recompute());
+    }
+}
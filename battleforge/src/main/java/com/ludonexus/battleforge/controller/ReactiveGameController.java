@@ -0,0 +1,45 @@
+package com.ludonexus.battleforge.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ludonexus.battleforge.dto.GameDTO;
+import com.ludonexus.battleforge.dto.ParticipationDTO;
+import com.ludonexus.battleforge.service.ReactiveGameService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking read endpoints. The request thread is released as soon as the query is
+ * subscribed, and lists are streamed as NDJSON, one game per line, pulled at the pace
+ * the client reads them.
+ */
+@RestController
+@RequestMapping("/api/reactive/games")
+@RequiredArgsConstructor
+public class ReactiveGameController {
+    private final ReactiveGameService reactiveGameService;
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<GameDTO>> getGame(@PathVariable Long id) {
+        return reactiveGameService.getGameById(id)
+            .map(ResponseEntity::ok)
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<GameDTO> getAllGames() {
+        return reactiveGameService.getAllGames();
+    }
+
+    @GetMapping(value = "/{id}/participations", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ParticipationDTO> getParticipations(@PathVariable Long id) {
+        return reactiveGameService.getParticipations(id);
+    }
+}
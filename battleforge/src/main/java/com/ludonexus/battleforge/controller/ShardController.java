@@ -0,0 +1,25 @@
+package com.ludonexus.battleforge.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ludonexus.battleforge.admission.LongRunning;
+import com.ludonexus.battleforge.dto.RebalanceReportDTO;
+import com.ludonexus.battleforge.service.ShardRebalanceService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/shards")
+@RequiredArgsConstructor
+public class ShardController {
+    private final ShardRebalanceService shardRebalanceService;
+
+    @PostMapping("/rebalance")
+    @LongRunning
+    public ResponseEntity<RebalanceReportDTO> rebalance() {
+        return ResponseEntity.ok(shardRebalanceService.rebalance());
+    }
+}
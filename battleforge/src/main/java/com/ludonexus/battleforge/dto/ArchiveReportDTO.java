@@ -0,0 +1,13 @@
+package com.ludonexus.battleforge.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+@Data
+public class ArchiveReportDTO {    // Utilisé pour rendre compte d'un archivage
+    private LocalDateTime cutoff;
+    private int archivedGames;
+    private int archivedParticipations;
+    private int segments;
+}
@@ -0,0 +1,24 @@
+package com.ludonexus.battleforge.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ludonexus.battleforge.export.ExportFormat;
+import com.ludonexus.battleforge.export.ExportTable;
+
+import lombok.Data;
+
+@Data
+public class ExportReportDTO {    // Utilisé pour rendre compte d'un export
+    private ExportTable table;
+    private ExportFormat format;
+    private String job;
+    private Long fromId;
+    private Long toId;
+    // Point de départ du prochain export du job (en retrait de toId pendant la fenêtre de sécurité)
+    private Long watermark;
+    private long rows;
+    // Avec le sharding les ids ne sont comparables qu'au sein d'un shard : une plage par shard
+    private List<ShardExportDTO> shards = new ArrayList<>();
+    private String file;
+}
@@ -0,0 +1,15 @@
+package com.ludonexus.battleforge.dto;
+
+import com.ludonexus.battleforge.model.GameType;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class MatchmakingRequestDTO {    // Utilisé pour entrer dans la file de matchmaking
+    @NotNull(message = "Player id is required")
+    private Long playerId;
+
+    @NotNull(message = "Game type is required")
+    private GameType gameType;
+}
@@ -0,0 +1,15 @@
+package com.ludonexus.battleforge.dto;
+
+import com.ludonexus.battleforge.matchmaking.Ticket;
+import com.ludonexus.battleforge.model.GameType;
+
+import lombok.Data;
+
+@Data
+public class MatchmakingStatusDTO {    // Utilisé pour afficher l'état d'un joueur en file
+    private Long playerId;
+    private GameType gameType;
+    private Ticket.Status status;
+    private Long gameId;
+    private Long waitingMillis;
+}
@@ -0,0 +1,10 @@
+package com.ludonexus.battleforge.dto;
+
+import lombok.Data;
+
+@Data
+public class PlayerProfileDTO {    // Utilisé pour lire le niveau d'un joueur dans PlayerSphere
+    private Long id;
+    private Integer level;
+    private Integer totalPoints;
+}
@@ -0,0 +1,11 @@
+package com.ludonexus.battleforge.dto;
+
+import lombok.Data;
+
+@Data
+public class PlayerRatingDTO {    // Utilisé pour synchroniser les classements Glicko-2 avec PlayerSphere
+    private Long playerId;
+    private Double rating;
+    private Double deviation;
+    private Integer games;
+}
@@ -0,0 +1,15 @@
+package com.ludonexus.battleforge.dto;
+
+import com.ludonexus.battleforge.model.GameType;
+
+import lombok.Data;
+
+@Data
+public class PlayerStatsDTO {    // Utilisé pour afficher les statistiques d'un joueur
+    private Long playerId;
+    private GameType gameType;
+    private Integer gamesPlayed;
+    private Integer wins;
+    private Double averageScore;
+    private Integer bestScore;
+}
@@ -0,0 +1,14 @@
+package com.ludonexus.battleforge.dto;
+
+import lombok.Data;
+
+@Data
+public class RatingRecomputeReportDTO {    // Utilisé pour rendre compte d'un recalcul complet des classements
+    private long games;
+    private long participations;
+    private long players;
+    private long components;
+    private long largestComponent;
+    private long published;
+    private long millis;
+}
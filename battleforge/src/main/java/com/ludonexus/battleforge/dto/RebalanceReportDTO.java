@@ -0,0 +1,10 @@
+package com.ludonexus.battleforge.dto;
+
+import lombok.Data;
+
+@Data
+public class RebalanceReportDTO {    // Utilisé pour rendre compte d'un rééquilibrage des shards
+    private long scannedGames;
+    private long movedGames;
+    private long movedParticipations;
+}
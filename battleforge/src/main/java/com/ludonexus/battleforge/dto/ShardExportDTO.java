@@ -0,0 +1,13 @@
+package com.ludonexus.battleforge.dto;
+
+import lombok.Data;
+
+@Data
+public class ShardExportDTO {    // Utilisé pour rendre compte de la partie d'un export lue sur un shard
+    private String shard;
+    private Long fromId;
+    private Long toId;
+    // Point de départ du prochain export du job (en retrait de toId pendant la fenêtre de sécurité)
+    private Long watermark;
+    private long rows;
+}
@@ -0,0 +1,13 @@
+package com.ludonexus.battleforge.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class SqlProfileDTO {
+    private boolean enabled;
+    private Instant since;
+    private List<SqlStatementStatsDTO> statements;
+}
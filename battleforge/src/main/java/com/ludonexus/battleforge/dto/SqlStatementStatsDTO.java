@@ -0,0 +1,21 @@
+package com.ludonexus.battleforge.dto;
+
+import java.util.Map;
+
+import lombok.Data;
+
+@Data
+public class SqlStatementStatsDTO {    // Utilisé pour exposer le profil d'une requête SQL sur un endpoint
+    private String endpoint;
+    private String fingerprint;
+    private long count;
+    private long errors;
+    private long rows;
+    private double totalMillis;
+    private double meanMillis;
+    private double maxMillis;
+    private double p50Millis;
+    private double p95Millis;
+    private double p99Millis;
+    private Map<String, Long> histogram;
+}
@@ -0,0 +1,34 @@
+package com.ludonexus.battleforge.export;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+public class CsvRowWriter extends RowWriter {
+
+    public CsvRowWriter(WritableByteChannel channel, List<String> columns) {
+        super(channel, columns);
+    }
+
+    @Override
+    public void writeHeader() throws IOException {
+        line.append(String.join(",", columns)).append('\n');
+    }
+
+    @Override
+    protected void appendRow(Object[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) line.append(',');
+            if (values[i] != null) appendField(format(values[i]));
+        }
+        line.append('\n');
+    }
+
+    private void appendField(String field) {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+            line.append(field);
+            return;
+        }
+        line.append('"').append(field.replace("\"", "\"\"")).append('"');
+    }
+}
@@ -0,0 +1,61 @@
+package com.ludonexus.battleforge.export;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Highest id of each exported table, sampled on every shard at a fixed interval (database time).
+ *
+ * A row that an export could not see was written by a transaction still running at the export's
+ * snapshot. With write transactions shorter than the safety window, that transaction started after
+ * the last checkpoint taken a safety window before the snapshot, so the row's id is above that
+ * checkpoint: the next run of the job can start from it instead of from where this run started.
+ */
+public class ExportCheckpoints {
+    private final Duration safetyWindow;
+    private final Map<Key, Deque<Checkpoint>> checkpoints = new HashMap<>();
+
+    public ExportCheckpoints(Duration safetyWindow) {
+        this.safetyWindow = safetyWindow;
+    }
+
+    public synchronized void record(String shard, ExportTable table, long maxId, LocalDateTime takenAt) {
+        Deque<Checkpoint> history = checkpoints.computeIfAbsent(new Key(shard, table), key -> new ArrayDeque<>());
+        history.addLast(new Checkpoint(maxId, takenAt));
+        // Seul le plus récent des points plus vieux que la fenêtre peut encore servir
+        LocalDateTime settled = takenAt.minus(safetyWindow);
+        Checkpoint oldest = history.pollFirst();
+        while (!history.isEmpty() && !history.peekFirst().takenAt().isAfter(settled)) {
+            oldest = history.pollFirst();
+        }
+        history.addFirst(oldest);
+    }
+
+    /**
+     * @param fromId id the run exported rows after
+     * @param snapshotAt database time at which the run's transaction started
+     * @return the id the next run of the job can start after
+     */
+    public synchronized long nextStart(String shard, ExportTable table, long fromId, LocalDateTime snapshotAt) {
+        Deque<Checkpoint> history = checkpoints.get(new Key(shard, table));
+        if (history == null) return fromId;
+
+        LocalDateTime settled = snapshotAt.minus(safetyWindow);
+        long start = fromId;
+        for (Checkpoint checkpoint : history) {
+            if (checkpoint.takenAt().isAfter(settled)) break;
+            start = Math.max(fromId, checkpoint.maxId());
+        }
+        return start;
+    }
+
+    private record Key(String shard, ExportTable table) {
+    }
+
+    private record Checkpoint(long maxId, LocalDateTime takenAt) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.ludonexus.battleforge.export;
+
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.Locale;
+
+public enum ExportFormat {
+    CSV("csv", "text/csv"),
+    NDJSON("ndjson", "application/x-ndjson");
+
+    private final String extension;
+    private final String contentType;
+
+    ExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public static ExportFormat of(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public RowWriter newWriter(WritableByteChannel channel, List<String> columns) {
+        return switch (this) {
+            case CSV -> new CsvRowWriter(channel, columns);
+            case NDJSON -> new NdjsonRowWriter(channel, columns);
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package com.ludonexus.battleforge.export;
+
+import java.util.List;
+import java.util.Locale;
+
+public enum ExportTable {
+    GAMES("games", List.of("id", "datetime", "game_type", "max_score", "host_id")),
+    PARTICIPATIONS("participations", List.of("id", "game_id", "player_id", "score", "victory"));
+
+    private final String tableName;
+    private final List<String> columns;
+
+    ExportTable(String tableName, List<String> columns) {
+        this.tableName = tableName;
+        this.columns = columns;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public static ExportTable of(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public String selectSinceId() {
+        return "SELECT " + String.join(", ", columns) + " FROM " + tableName + " WHERE id > ? ORDER BY id";
+    }
+}
@@ -0,0 +1,51 @@
+package com.ludonexus.battleforge.export;
+
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+public class NdjsonRowWriter extends RowWriter {
+
+    public NdjsonRowWriter(WritableByteChannel channel, List<String> columns) {
+        super(channel, columns);
+    }
+
+    @Override
+    public void writeHeader() {
+        // Chaque ligne est un objet autonome, pas d'en-tête
+    }
+
+    @Override
+    protected void appendRow(Object[] values) {
+        line.append('{');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) line.append(',');
+            line.append('"').append(columns.get(i)).append("\":");
+            Object value = values[i];
+            if (value == null || value instanceof Number || value instanceof Boolean) {
+                line.append(value);
+            } else {
+                appendString(format(value));
+            }
+        }
+        line.append("}\n");
+    }
+
+    private void appendString(String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) line.append(String.format("\\u%04x", (int) c));
+                    else line.append(c);
+                }
+            }
+        }
+        line.append('"');
+    }
+}
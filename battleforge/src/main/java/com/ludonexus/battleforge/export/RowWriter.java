@@ -0,0 +1,78 @@
+package com.ludonexus.battleforge.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Encodes rows into a reusable buffer and drains it to a channel in large writes,
+ * so memory stays constant whatever the number of exported rows.
+ */
+public abstract class RowWriter implements AutoCloseable {
+    private static final int FLUSH_THRESHOLD = 32 * 1024;
+
+    private final WritableByteChannel channel;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(64 * 1024);
+    protected final List<String> columns;
+    protected final StringBuilder line = new StringBuilder(FLUSH_THRESHOLD * 2);
+
+    protected RowWriter(WritableByteChannel channel, List<String> columns) {
+        this.channel = channel;
+        this.columns = columns;
+    }
+
+    public abstract void writeHeader() throws IOException;
+
+    /** @param values JDBC values in the order of the columns */
+    public void writeRow(Object[] values) throws IOException {
+        appendRow(values);
+        if (line.length() >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
+    protected abstract void appendRow(Object[] values);
+
+    protected static String format(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        return String.valueOf(value);
+    }
+
+    public void flush() throws IOException {
+        CharBuffer chars = CharBuffer.wrap(line);
+        encoder.reset();
+        while (true) {
+            CoderResult result = encoder.encode(chars, bytes, true);
+            if (result.isOverflow()) {
+                drain();
+            } else {
+                break;
+            }
+        }
+        encoder.flush(bytes);
+        drain();
+        line.setLength(0);
+    }
+
+    private void drain() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+}
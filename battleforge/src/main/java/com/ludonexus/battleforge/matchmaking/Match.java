@@ -0,0 +1,16 @@
+package com.ludonexus.battleforge.matchmaking;
+
+import java.util.List;
+
+import com.ludonexus.battleforge.model.GameType;
+
+/**
+ * A group of claimed tickets, the first one being the longest waiting and hosting the game.
+ */
+public record Match(GameType gameType, List<Ticket> tickets) {
+
+    // Vrai une fois la partie enregistrée (gameId posé sur les tickets après le commit)
+    public boolean isCreated() {
+        return tickets.get(0).getGameId() != null;
+    }
+}
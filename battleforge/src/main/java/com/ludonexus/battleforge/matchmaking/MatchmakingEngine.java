@@ -0,0 +1,248 @@
+package com.ludonexus.battleforge.matchmaking;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ludonexus.battleforge.config.MatchmakingProperties;
+import com.ludonexus.battleforge.model.GameType;
+
+/**
+ * Skill-bucketed matchmaking queues, one set per game type.
+ *
+ * Enqueue and cancel are lock-free (a ConcurrentHashMap of active tickets plus a ConcurrentLinkedQueue
+ * per bucket) so request threads never contend with each other or with the matcher. A single matcher
+ * thread scans the buckets every tick, claims tickets with a CAS and hands the formed matches to the
+ * sink in one batch, outside the engine lock. The skill window around the oldest waiting ticket widens
+ * with its waiting time. If the sink fails, the tickets of the matches it has not marked as created
+ * (game id set) are requeued, unless their player has queued again meanwhile. Replacing a matched
+ * ticket takes the engine lock so it cannot interleave with that requeue.
+ */
+public class MatchmakingEngine implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(MatchmakingEngine.class);
+
+    private final MatchmakingProperties properties;
+    private final Consumer<List<Match>> sink;
+    private final int bucketCount;
+    private final Map<GameType, Queue<Ticket>[]> queues = new EnumMap<>(GameType.class);
+    private final ConcurrentHashMap<Long, Ticket> tickets = new ConcurrentHashMap<>();
+    private ScheduledExecutorService matcher;
+
+    @SuppressWarnings("unchecked")
+    public MatchmakingEngine(MatchmakingProperties properties, Consumer<List<Match>> sink) {
+        this.properties = properties;
+        this.sink = sink;
+        this.bucketCount = properties.getMaxLevel() * properties.getPointBands();
+        for (GameType gameType : GameType.values()) {
+            Queue<Ticket>[] buckets = new Queue[bucketCount];
+            for (int b = 0; b < bucketCount; b++) {
+                buckets[b] = new ConcurrentLinkedQueue<>();
+            }
+            queues.put(gameType, buckets);
+        }
+    }
+
+    public synchronized void start() {
+        if (matcher != null) return;
+        matcher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "matchmaking");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tick = properties.getTick().toNanos();
+        matcher.scheduleWithFixedDelay(this::tick, tick, tick, TimeUnit.NANOSECONDS);
+    }
+
+    public Ticket enqueue(long playerId, GameType gameType, int level, int totalPoints) {
+        Ticket ticket = new Ticket(playerId, gameType, bucketOf(level, totalPoints), System.nanoTime());
+        Ticket current = tickets.putIfAbsent(playerId, ticket);
+        if (current != null) {
+            synchronized (this) {
+                if (current.getStatus() == Ticket.Status.WAITING || !tickets.replace(playerId, current, ticket)) {
+                    throw new IllegalArgumentException("Player already queued");
+                }
+            }
+        }
+        offer(ticket);
+        return ticket;
+    }
+
+    public boolean cancel(long playerId) {
+        Ticket ticket = tickets.get(playerId);
+        if (ticket != null && ticket.cancel()) {
+            tickets.remove(playerId, ticket);
+            return true;
+        }
+        return false;
+    }
+
+    public Optional<Ticket> getTicket(long playerId) {
+        return Optional.ofNullable(tickets.get(playerId));
+    }
+
+    public int getWaitingCount() {
+        int waiting = 0;
+        for (Ticket ticket : tickets.values()) {
+            if (ticket.getStatus() == Ticket.Status.WAITING) waiting++;
+        }
+        return waiting;
+    }
+
+    /**
+     * Runs one matching pass and delivers the formed matches. Called by the matcher thread,
+     * public so it can be driven synchronously.
+     */
+    public int matchOnce() {
+        List<Match> matches = formMatches();
+        if (!matches.isEmpty()) {
+            deliver(matches);
+        }
+        return matches.size();
+    }
+
+    private synchronized List<Match> formMatches() {
+        long now = System.nanoTime();
+        List<Match> matches = new ArrayList<>();
+        for (Map.Entry<GameType, Queue<Ticket>[]> entry : queues.entrySet()) {
+            Queue<Ticket>[] buckets = entry.getValue();
+            for (int b = 0; b < bucketCount; b++) {
+                while (true) {
+                    Ticket anchor = firstWaiting(buckets[b]);
+                    if (anchor == null) break;
+                    List<Ticket> group = gather(buckets, b, window(now - anchor.getEnqueuedAt()), anchor);
+                    if (group == null || !claim(group)) break;
+                    // Les tickets pris restent dans leur file et sont purgés quand ils arrivent en tête
+                    matches.add(new Match(entry.getKey(), group));
+                }
+            }
+        }
+        return matches;
+    }
+
+    private void tick() {
+        try {
+            matchOnce();
+            evictMatched();
+        } catch (RuntimeException e) {
+            log.error("Matchmaking pass failed", e);
+        }
+    }
+
+    private void deliver(List<Match> matches) {
+        try {
+            sink.accept(matches);
+        } catch (RuntimeException e) {
+            // Les joueurs des parties non créées retournent dans la file en gardant leur ancienneté
+            log.error("Failed to create {} matched games, requeueing players", matches.size(), e);
+            requeue(matches);
+        }
+    }
+
+    private synchronized void requeue(List<Match> matches) {
+        for (Match match : matches) {
+            if (match.isCreated()) continue;
+            for (Ticket ticket : match.tickets()) {
+                ticket.release();
+                if (tickets.get(ticket.getPlayerId()) != ticket) {
+                    // Le joueur s'est réinscrit pendant la création : seul son nouveau ticket reste actif
+                    ticket.cancel();
+                } else if (!ticket.isQueued()) {
+                    // Un ticket pas encore purgé est toujours en file : le remettre en ferait un doublon
+                    offer(ticket);
+                }
+            }
+        }
+    }
+
+    private void offer(Ticket ticket) {
+        ticket.setQueued(true);
+        queues.get(ticket.getGameType())[ticket.getBucket()].offer(ticket);
+    }
+
+    private Ticket firstWaiting(Queue<Ticket> bucket) {
+        Ticket head;
+        while ((head = bucket.peek()) != null && head.getStatus() != Ticket.Status.WAITING) {
+            bucket.poll().setQueued(false);
+        }
+        return head;
+    }
+
+    private List<Ticket> gather(Queue<Ticket>[] buckets, int anchorBucket, int window, Ticket anchor) {
+        int needed = properties.getPlayersPerGame();
+        List<Ticket> group = new ArrayList<>(needed);
+        group.add(anchor);
+        int level = anchorBucket / properties.getPointBands();
+        int band = anchorBucket % properties.getPointBands();
+        // Niveau et tranche de points sont deux dimensions : à la distance d, le contour du carré de côté 2d+1
+        for (int distance = 0; distance <= window && group.size() < needed; distance++) {
+            for (int dl = -distance; dl <= distance; dl++) {
+                int step = Math.abs(dl) == distance ? 1 : Math.max(1, 2 * distance);
+                for (int db = -distance; db <= distance; db += step) {
+                    collect(buckets, level + dl, band + db, anchor, group, needed);
+                }
+            }
+        }
+        return group.size() == needed ? group : null;
+    }
+
+    private void collect(Queue<Ticket>[] buckets, int level, int band, Ticket anchor, List<Ticket> group, int needed) {
+        if (level < 0 || level >= properties.getMaxLevel() || band < 0 || band >= properties.getPointBands()) return;
+        Iterator<Ticket> it = buckets[level * properties.getPointBands() + band].iterator();
+        while (group.size() < needed && it.hasNext()) {
+            Ticket ticket = it.next();
+            if (ticket != anchor && ticket.getStatus() == Ticket.Status.WAITING) {
+                group.add(ticket);
+            }
+        }
+    }
+
+    private boolean claim(List<Ticket> group) {
+        for (int i = 0; i < group.size(); i++) {
+            if (!group.get(i).claim()) {
+                for (int j = 0; j < i; j++) {
+                    group.get(j).release();
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void evictMatched() {
+        long expiredBefore = System.nanoTime() - properties.getMatchedRetention().toNanos();
+        tickets.values().removeIf(ticket ->
+            ticket.getStatus() == Ticket.Status.MATCHED && ticket.getMatchedAt() - expiredBefore < 0);
+    }
+
+    private int window(long waitedNanos) {
+        long widenings = Math.max(0, waitedNanos) / properties.getWidenEvery().toNanos();
+        return (int) Math.min(widenings, properties.getMaxWindow());
+    }
+
+    private int bucketOf(int level, int totalPoints) {
+        int clampedLevel = Math.max(1, Math.min(level, properties.getMaxLevel()));
+        int band = Math.max(0, Math.min(totalPoints / properties.getPointBandWidth(), properties.getPointBands() - 1));
+        return (clampedLevel - 1) * properties.getPointBands() + band;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (matcher != null) {
+            matcher.shutdownNow();
+            matcher = null;
+        }
+    }
+}
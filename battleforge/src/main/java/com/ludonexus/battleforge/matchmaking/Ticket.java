@@ -0,0 +1,86 @@
+package com.ludonexus.battleforge.matchmaking;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.ludonexus.battleforge.model.GameType;
+
+public final class Ticket {
+    public enum Status { WAITING, MATCHED, CANCELLED }
+
+    private final long playerId;
+    private final GameType gameType;
+    private final int bucket;
+    private final long enqueuedAt;
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.WAITING);
+    private volatile long matchedAt;
+    private volatile Long gameId;
+    // Encore présent dans la file de son bucket (modifié sous le verrou du moteur après l'enqueue)
+    private volatile boolean queued;
+
+    Ticket(long playerId, GameType gameType, int bucket, long enqueuedAt) {
+        this.playerId = playerId;
+        this.gameType = gameType;
+        this.bucket = bucket;
+        this.enqueuedAt = enqueuedAt;
+    }
+
+    public long getPlayerId() {
+        return playerId;
+    }
+
+    public GameType getGameType() {
+        return gameType;
+    }
+
+    public int getBucket() {
+        return bucket;
+    }
+
+    /** System.nanoTime() at enqueue. */
+    public long getEnqueuedAt() {
+        return enqueuedAt;
+    }
+
+    /** System.nanoTime() when the ticket was matched, 0 while waiting. */
+    public long getMatchedAt() {
+        return matchedAt;
+    }
+
+    public Status getStatus() {
+        return status.get();
+    }
+
+    public Long getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(Long gameId) {
+        this.gameId = gameId;
+    }
+
+    boolean isQueued() {
+        return queued;
+    }
+
+    void setQueued(boolean queued) {
+        this.queued = queued;
+    }
+
+    boolean claim() {
+        if (status.compareAndSet(Status.WAITING, Status.MATCHED)) {
+            // Lu ici et non en début de passe : un ticket arrivé pendant la passe n'a pas d'attente négative
+            matchedAt = Math.max(System.nanoTime(), enqueuedAt);
+            return true;
+        }
+        return false;
+    }
+
+    void release() {
+        matchedAt = 0;
+        status.compareAndSet(Status.MATCHED, Status.WAITING);
+    }
+
+    boolean cancel() {
+        return status.compareAndSet(Status.WAITING, Status.CANCELLED);
+    }
+}
@@ -12,7 +12,7 @@ import lombok.Data;
 @Table(name = "games")
 public class Game {
     @Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GameId
 	private Long id;
 
 	@Column(nullable = false)
@@ -0,0 +1,31 @@
+package com.ludonexus.battleforge.model;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.id.IdentityGenerator;
+
+import com.ludonexus.battleforge.shard.GameIdAllocator;
+
+/**
+ * Game id generator, created by Spring (Hibernate bean container) so it gets the GameIdAllocator.
+ * With sharding the id is allocated before the insert, otherwise it is an identity column.
+ */
+public class GameIdGenerator extends IdentityGenerator implements BeforeExecutionGenerator {
+    private final GameIdAllocator allocator;
+
+    public GameIdGenerator(GameIdAllocator allocator) {
+        this.allocator = allocator;
+    }
+
+    @Override
+    public boolean generatedOnExecution() {
+        return !allocator.isEnabled();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+            EventType eventType) {
+        return allocator.nextGameId();
+    }
+}
@@ -0,0 +1,30 @@
+package com.ludonexus.battleforge.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Data
+@Entity
+@Table(name = "player_ratings")
+public class PlayerRating {
+    @Id
+    @Column(name = "player_id")
+    private Long playerId;
+
+    @Column(nullable = false)
+    private Double rating;
+
+    @Column(nullable = false)
+    private Double deviation;
+
+    @Column(nullable = false)
+    private Double volatility;
+
+    @Column(nullable = false)
+    private Integer games = 0;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
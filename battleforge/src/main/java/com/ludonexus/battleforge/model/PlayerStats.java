@@ -0,0 +1,36 @@
+package com.ludonexus.battleforge.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Data
+@Entity
+@Table(name = "player_stats",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"player_id", "game_type"}))
+public class PlayerStats {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "player_id", nullable = false)
+    private Long playerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "game_type", nullable = false)
+    private GameType gameType;
+
+    @Column(name = "games_played", nullable = false)
+    private Integer gamesPlayed = 0;
+
+    @Column(nullable = false)
+    private Integer wins = 0;
+
+    @Column(name = "scored_games", nullable = false)
+    private Integer scoredGames = 0;
+
+    @Column(name = "total_score", nullable = false)
+    private Long totalScore = 0L;
+
+    @Column(name = "best_score")
+    private Integer bestScore;
+}
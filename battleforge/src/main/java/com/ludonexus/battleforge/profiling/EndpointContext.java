@@ -0,0 +1,52 @@
+package com.ludonexus.battleforge.profiling;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Endpoint ("GET /api/games/{id}") handled by the current thread, used to attribute statements.
+ */
+public final class EndpointContext {
+    public static final String NONE = "(none)";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private EndpointContext() {
+    }
+
+    public static String current() {
+        String endpoint = CURRENT.get();
+        return endpoint != null ? endpoint : NONE;
+    }
+
+    public static void set(String endpoint) {
+        CURRENT.set(endpoint);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Wraps a task submitted to another thread so its statements are attributed to the
+     * endpoint of the submitting thread.
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        String endpoint = CURRENT.get();
+        if (endpoint == null) {
+            return task;
+        }
+        return () -> {
+            String previous = CURRENT.get();
+            CURRENT.set(endpoint);
+            try {
+                return task.call();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+}
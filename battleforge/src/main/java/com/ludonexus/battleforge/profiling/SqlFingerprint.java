@@ -0,0 +1,98 @@
+package com.ludonexus.battleforge.profiling;
+
+/**
+ * Normalizes a statement so that executions differing only by their literals share one entry:
+ * string and numeric literals become ?, IN lists collapse to (?...) and whitespace is squeezed.
+ */
+public final class SqlFingerprint {
+
+    private SqlFingerprint() {
+    }
+
+    public static String of(String sql) {
+        StringBuilder out = new StringBuilder(sql.length());
+        int i = 0;
+        int n = sql.length();
+        while (i < n) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                i = skipString(sql, i + 1);
+                out.append('?');
+            } else if (Character.isDigit(c) && !isIdentifierPart(out)) {
+                while (i < n && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) i++;
+                out.append('?');
+            } else if (Character.isWhitespace(c)) {
+                while (i < n && Character.isWhitespace(sql.charAt(i))) i++;
+                if (out.length() > 0 && i < n) out.append(' ');
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        return collapseLists(out.toString());
+    }
+
+    private static int skipString(String sql, int i) {
+        while (i < sql.length()) {
+            if (sql.charAt(i) == '\'') {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == '\'') {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isIdentifierPart(StringBuilder out) {
+        if (out.length() == 0) return false;
+        char previous = out.charAt(out.length() - 1);
+        return Character.isLetterOrDigit(previous) || previous == '_' || previous == '$' || previous == '"';
+    }
+
+    // (?, ?, ?) -> (?...) : les listes IN de tailles différentes partagent la même empreinte
+    private static String collapseLists(String sql) {
+        StringBuilder out = new StringBuilder(sql.length());
+        int i = 0;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '(') {
+                int end = scanPlaceholderList(sql, i + 1);
+                if (end > 0) {
+                    out.append("(?...)");
+                    i = end + 1;
+                    continue;
+                }
+            }
+            out.append(c);
+            i++;
+        }
+        return out.toString();
+    }
+
+    // Index de la parenthèse fermante si le contenu n'est que "?, ?, ..." (au moins deux), -1 sinon
+    private static int scanPlaceholderList(String sql, int i) {
+        int placeholders = 0;
+        boolean expectPlaceholder = true;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == ' ') {
+                i++;
+            } else if (expectPlaceholder && c == '?') {
+                placeholders++;
+                expectPlaceholder = false;
+                i++;
+            } else if (!expectPlaceholder && c == ',') {
+                expectPlaceholder = true;
+                i++;
+            } else if (!expectPlaceholder && c == ')') {
+                return placeholders >= 2 ? i : -1;
+            } else {
+                return -1;
+            }
+        }
+        return -1;
+    }
+}
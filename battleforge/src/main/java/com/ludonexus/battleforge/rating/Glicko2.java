@@ -0,0 +1,116 @@
+package com.ludonexus.battleforge.rating;
+
+/**
+ * Glicko-2 update, one rating period per game. Ratings are handled on the Glicko-2 scale
+ * (mu, phi, sigma). In a game with more than two players, each player is rated against
+ * every other participant.
+ */
+public class Glicko2 {
+    public static final double SCALE = 173.7178;
+    public static final double BASE_RATING = 1500;
+    private static final double CONVERGENCE = 0.000001;
+
+    private final double tau;
+    private final double maxPhi;
+
+    public Glicko2(double tau, double maxDeviation) {
+        this.tau = tau;
+        this.maxPhi = maxDeviation / SCALE;
+    }
+
+    public static double toMu(double rating) {
+        return (rating - BASE_RATING) / SCALE;
+    }
+
+    public static double toPhi(double deviation) {
+        return deviation / SCALE;
+    }
+
+    public static double toRating(double mu) {
+        return mu * SCALE + BASE_RATING;
+    }
+
+    public static double toDeviation(double phi) {
+        return phi * SCALE;
+    }
+
+    /**
+     * Score of player i against player j: the winner beats the loser, and between players
+     * with the same result the higher score wins. 0.5 when nothing tells them apart.
+     */
+    public static double outcome(boolean victoryI, int scoreI, boolean victoryJ, int scoreJ, int noScore) {
+        if (victoryI != victoryJ) return victoryI ? 1 : 0;
+        if (scoreI == noScore || scoreJ == noScore || scoreI == scoreJ) return 0.5;
+        return scoreI > scoreJ ? 1 : 0;
+    }
+
+    /**
+     * Rates the k players of one game from their ratings before it. outcomes[i][j] is the
+     * score of i against j. Results go to the out arrays, the inputs are left untouched.
+     */
+    public void rateGame(int k, double[] mu, double[] phi, double[] sigma, double[][] outcomes,
+            double[] outMu, double[] outPhi, double[] outSigma) {
+        for (int i = 0; i < k; i++) {
+            double vInverse = 0;
+            double improvement = 0;
+            for (int j = 0; j < k; j++) {
+                if (j == i) continue;
+                double g = g(phi[j]);
+                double expected = 1 / (1 + Math.exp(-g * (mu[i] - mu[j])));
+                vInverse += g * g * expected * (1 - expected);
+                improvement += g * (outcomes[i][j] - expected);
+            }
+            double v = 1 / vInverse;
+            double newSigma = volatility(phi[i], sigma[i], v, v * improvement);
+            double phiStar = Math.sqrt(phi[i] * phi[i] + newSigma * newSigma);
+            double newPhi = 1 / Math.sqrt(1 / (phiStar * phiStar) + 1 / v);
+
+            outMu[i] = mu[i] + newPhi * newPhi * improvement;
+            outPhi[i] = Math.min(newPhi, maxPhi);
+            outSigma[i] = newSigma;
+        }
+    }
+
+    private static double g(double phi) {
+        return 1 / Math.sqrt(1 + 3 * phi * phi / (Math.PI * Math.PI));
+    }
+
+    // Étape 5 de Glicko-2 (méthode d'Illinois)
+    private double volatility(double phi, double sigma, double v, double delta) {
+        double a = Math.log(sigma * sigma);
+        double phi2 = phi * phi;
+        double delta2 = delta * delta;
+
+        double lower = a;
+        double upper;
+        if (delta2 > phi2 + v) {
+            upper = Math.log(delta2 - phi2 - v);
+        } else {
+            int k = 1;
+            while (f(a - k * tau, a, phi2, v, delta2) < 0) k++;
+            upper = a - k * tau;
+        }
+
+        double fLower = f(lower, a, phi2, v, delta2);
+        double fUpper = f(upper, a, phi2, v, delta2);
+        while (Math.abs(upper - lower) > CONVERGENCE) {
+            double c = lower + (lower - upper) * fLower / (fUpper - fLower);
+            double fC = f(c, a, phi2, v, delta2);
+            if (fC * fUpper <= 0) {
+                lower = upper;
+                fLower = fUpper;
+            } else {
+                fLower /= 2;
+            }
+            upper = c;
+            fUpper = fC;
+        }
+        return Math.exp(lower / 2);
+    }
+
+    private double f(double x, double a, double phi2, double v, double delta2) {
+        double ex = Math.exp(x);
+        double d = phi2 + v + ex;
+        return ex * (delta2 - phi2 - v - ex) / (2 * d * d) - (x - a) / (tau * tau);
+    }
+}
@@ -0,0 +1,116 @@
+package com.ludonexus.battleforge.rating;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.ludonexus.battleforge.config.RatingProperties;
+import com.ludonexus.battleforge.dto.PlayerRatingDTO;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes ratings to PlayerSphere in bulk. Incremental updates are kept per player (the latest
+ * one wins) and flushed every publish-interval; a failed flush is retried on the next tick.
+ */
+@Component
+public class RatingPublisher {
+    private static final Logger log = LoggerFactory.getLogger(RatingPublisher.class);
+    private static final String PLAYER_RATINGS_API_URL = "http://localhost:8080/api/players/ratings";
+
+    private final RestTemplate restTemplate;
+    private final RatingProperties properties;
+    private final ConcurrentHashMap<Long, PlayerRatingDTO> pending = new ConcurrentHashMap<>();
+    private ScheduledExecutorService flusher;
+
+    public RatingPublisher(RestTemplate restTemplate, RatingProperties properties) {
+        this.restTemplate = restTemplate;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "rating-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getPublishInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::tick, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        flusher.shutdownNow();
+        tick();
+    }
+
+    public void enqueue(List<PlayerRatingDTO> ratings) {
+        for (PlayerRatingDTO rating : ratings) {
+            pending.put(rating.getPlayerId(), rating);
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Sends all the ratings now, in chunks of publish-batch-size. Used by the full recompute:
+     * pending incremental updates for the same players are older and dropped.
+     */
+    public synchronized int publishAll(List<PlayerRatingDTO> ratings) {
+        int batchSize = properties.getPublishBatchSize();
+        for (int from = 0; from < ratings.size(); from += batchSize) {
+            List<PlayerRatingDTO> chunk = ratings.subList(from, Math.min(from + batchSize, ratings.size()));
+            for (PlayerRatingDTO rating : chunk) {
+                pending.remove(rating.getPlayerId());
+            }
+            send(chunk);
+        }
+        return ratings.size();
+    }
+
+    private void tick() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish {} player ratings, retrying later", pending.size(), e);
+        }
+    }
+
+    private synchronized void flush() {
+        List<PlayerRatingDTO> chunk = new ArrayList<>();
+        for (PlayerRatingDTO rating : pending.values()) {
+            chunk.add(rating);
+            if (chunk.size() == properties.getPublishBatchSize()) {
+                sendPending(chunk);
+                chunk = new ArrayList<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            sendPending(chunk);
+        }
+    }
+
+    private void sendPending(List<PlayerRatingDTO> chunk) {
+        send(chunk);
+        // Une valeur plus récente arrivée pendant l'envoi reste en attente
+        for (PlayerRatingDTO rating : chunk) {
+            pending.remove(rating.getPlayerId(), rating);
+        }
+    }
+
+    private void send(List<PlayerRatingDTO> chunk) {
+        restTemplate.put(PLAYER_RATINGS_API_URL, chunk);
+    }
+}
@@ -0,0 +1,374 @@
+package com.ludonexus.battleforge.rating;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Replays a whole game history through Glicko-2.
+ *
+ * Rows are collected into primitive arrays (one entry per participation), games are sorted by
+ * (datetime, id) and duplicates dropped. Players who never met, even through other players, cannot
+ * influence each other's rating, so the players are split into connected components (union-find) and
+ * the components are replayed in parallel on a fork/join pool, each one in chronological order.
+ * Components share the rating arrays but never the same slots.
+ */
+public class RatingReplay {
+    public static final int NO_SCORE = Integer.MIN_VALUE;
+    // En dessous, un groupe de composantes est rejoué sans être redécoupé
+    private static final int SEQUENTIAL_GAMES = 2_000;
+
+    private final Glicko2 glicko2;
+    private final double initialMu;
+    private final double initialPhi;
+    private final double initialSigma;
+
+    private final Map<Long, Integer> playerIndex = new HashMap<>();
+    private long[] playerIds = new long[1024];
+    private int playerCount;
+
+    private long[] gameIds = new long[1024];
+    private long[] gameTimes = new long[1024];
+    // Participations de la partie g : [gameStarts[g], gameStarts[g + 1])
+    private int[] gameStarts = new int[1025];
+    private int gameCount;
+
+    private int[] players = new int[4096];
+    private int[] scores = new int[4096];
+    private boolean[] victories = new boolean[4096];
+    private int participationCount;
+
+    private long currentGameId = -1;
+    private boolean currentSettled;
+
+    public record Result(long[] playerIds, double[] ratings, double[] deviations, double[] volatilities,
+            int[] games, long[] replayedGameIds, int participations, int components, int largestComponent) {
+
+        // replayedGameIds est trié
+        public boolean replayed(long gameId) {
+            return Arrays.binarySearch(replayedGameIds, gameId) >= 0;
+        }
+    }
+
+    public RatingReplay(Glicko2 glicko2, double initialRating, double initialDeviation, double initialVolatility) {
+        this.glicko2 = glicko2;
+        this.initialMu = Glicko2.toMu(initialRating);
+        this.initialPhi = Glicko2.toPhi(initialDeviation);
+        this.initialSigma = initialVolatility;
+    }
+
+    public static long toMicros(LocalDateTime datetime) {
+        return datetime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + datetime.getNano() / 1_000;
+    }
+
+    /**
+     * Adds one participation. The participations of a game must be added one after the other;
+     * a game without a result for every player, or with fewer than two players, is ignored.
+     */
+    public void add(long gameId, long datetimeMicros, long playerId, Integer score, Boolean victory) {
+        if (gameId != currentGameId) {
+            endGame();
+            beginGame(gameId, datetimeMicros);
+        }
+        if (victory == null) {
+            currentSettled = false;
+        }
+        if (participationCount == players.length) {
+            players = Arrays.copyOf(players, players.length * 2);
+            scores = Arrays.copyOf(scores, scores.length * 2);
+            victories = Arrays.copyOf(victories, victories.length * 2);
+        }
+        players[participationCount] = indexOf(playerId);
+        scores[participationCount] = score != null ? score : NO_SCORE;
+        victories[participationCount] = Boolean.TRUE.equals(victory);
+        participationCount++;
+    }
+
+    private void beginGame(long gameId, long datetimeMicros) {
+        if (gameCount == gameIds.length) {
+            gameIds = Arrays.copyOf(gameIds, gameIds.length * 2);
+            gameTimes = Arrays.copyOf(gameTimes, gameTimes.length * 2);
+            gameStarts = Arrays.copyOf(gameStarts, gameIds.length + 1);
+        }
+        currentGameId = gameId;
+        currentSettled = true;
+        gameIds[gameCount] = gameId;
+        gameTimes[gameCount] = datetimeMicros;
+        gameStarts[gameCount] = participationCount;
+    }
+
+    /**
+     * Closes the game being added. Called between two sources, so that the same game read
+     * from both (e.g. archived in between) is not merged into a single game.
+     */
+    public void endGame() {
+        if (currentGameId < 0) return;
+        int start = gameStarts[gameCount];
+        if (currentSettled && participationCount - start >= 2) {
+            gameCount++;
+            gameStarts[gameCount] = participationCount;
+        } else {
+            participationCount = start;
+        }
+        currentGameId = -1;
+    }
+
+    private int indexOf(long playerId) {
+        Integer index = playerIndex.get(playerId);
+        if (index == null) {
+            if (playerCount == playerIds.length) {
+                playerIds = Arrays.copyOf(playerIds, playerIds.length * 2);
+            }
+            index = playerCount;
+            playerIds[playerCount++] = playerId;
+            playerIndex.put(playerId, index);
+        }
+        return index;
+    }
+
+    public int getGameCount() {
+        return gameCount;
+    }
+
+    public Result replay(int parallelism) {
+        endGame();
+
+        int[] order = chronologicalOrder();
+        order = dropDuplicates(order);
+        long[] replayedGameIds = new long[order.length];
+        int replayedParticipations = 0;
+        for (int i = 0; i < order.length; i++) {
+            replayedGameIds[i] = gameIds[order[i]];
+            replayedParticipations += gameStarts[order[i] + 1] - gameStarts[order[i]];
+        }
+        Arrays.sort(replayedGameIds);
+
+        // Composantes connexes des joueurs ayant joué ensemble
+        int[] parent = new int[playerCount];
+        int[] size = new int[playerCount];
+        for (int p = 0; p < playerCount; p++) {
+            parent[p] = p;
+            size[p] = 1;
+        }
+        boolean[] played = new boolean[playerCount];
+        for (int g : order) {
+            played[players[gameStarts[g]]] = true;
+            int first = find(parent, players[gameStarts[g]]);
+            for (int i = gameStarts[g] + 1; i < gameStarts[g + 1]; i++) {
+                played[players[i]] = true;
+                first = union(parent, size, first, find(parent, players[i]));
+            }
+        }
+
+        // Parties regroupées par composante, en gardant l'ordre chronologique
+        int[] componentOf = new int[playerCount];
+        Arrays.fill(componentOf, -1);
+        int componentCount = 0;
+        int largestComponent = 0;
+        for (int p = 0; p < playerCount; p++) {
+            // Joueurs vus seulement dans des parties écartées
+            if (!played[p]) continue;
+            int root = find(parent, p);
+            if (componentOf[root] < 0) {
+                componentOf[root] = componentCount++;
+                largestComponent = Math.max(largestComponent, size[root]);
+            }
+        }
+        int[] componentStarts = new int[componentCount + 1];
+        int[] gameComponent = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            gameComponent[i] = componentOf[find(parent, players[gameStarts[order[i]]])];
+            componentStarts[gameComponent[i] + 1]++;
+        }
+        for (int c = 0; c < componentCount; c++) {
+            componentStarts[c + 1] += componentStarts[c];
+        }
+        int[] componentGames = new int[order.length];
+        int[] next = Arrays.copyOf(componentStarts, componentCount);
+        for (int i = 0; i < order.length; i++) {
+            componentGames[next[gameComponent[i]]++] = order[i];
+        }
+
+        double[] mu = new double[playerCount];
+        double[] phi = new double[playerCount];
+        double[] sigma = new double[playerCount];
+        int[] games = new int[playerCount];
+        Arrays.fill(mu, initialMu);
+        Arrays.fill(phi, initialPhi);
+        Arrays.fill(sigma, initialSigma);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        try {
+            pool.invoke(new ReplayTask(componentStarts, componentGames, 0, componentCount, mu, phi, sigma, games));
+        } finally {
+            pool.shutdown();
+        }
+
+        long[] ids = Arrays.copyOf(playerIds, playerCount);
+        double[] ratings = new double[playerCount];
+        double[] deviations = new double[playerCount];
+        for (int p = 0; p < playerCount; p++) {
+            ratings[p] = Glicko2.toRating(mu[p]);
+            deviations[p] = Glicko2.toDeviation(phi[p]);
+        }
+        return new Result(ids, ratings, deviations, sigma, games, replayedGameIds, replayedParticipations,
+            componentCount, largestComponent);
+    }
+
+    // Tri fusion sur des indices, par (datetime, id)
+    private int[] chronologicalOrder() {
+        int[] order = new int[gameCount];
+        for (int g = 0; g < gameCount; g++) {
+            order[g] = g;
+        }
+        int[] buffer = new int[gameCount];
+        for (int width = 1; width < gameCount; width *= 2) {
+            for (int lo = 0; lo < gameCount; lo += 2 * width) {
+                int mid = Math.min(lo + width, gameCount);
+                int hi = Math.min(lo + 2 * width, gameCount);
+                int i = lo, j = mid, k = lo;
+                while (i < mid && j < hi) {
+                    buffer[k++] = before(order[j], order[i]) ? order[j++] : order[i++];
+                }
+                while (i < mid) buffer[k++] = order[i++];
+                while (j < hi) buffer[k++] = order[j++];
+            }
+            int[] swap = order;
+            order = buffer;
+            buffer = swap;
+        }
+        return order;
+    }
+
+    private boolean before(int a, int b) {
+        if (gameTimes[a] != gameTimes[b]) return gameTimes[a] < gameTimes[b];
+        return gameIds[a] < gameIds[b];
+    }
+
+    // Une partie lue en base et dans l'archive (archivée pendant la lecture) n'est rejouée qu'une fois
+    private int[] dropDuplicates(int[] order) {
+        int kept = 0;
+        for (int i = 0; i < order.length; i++) {
+            if (kept > 0 && gameIds[order[kept - 1]] == gameIds[order[i]]) continue;
+            order[kept++] = order[i];
+        }
+        return kept == order.length ? order : Arrays.copyOf(order, kept);
+    }
+
+    private static int find(int[] parent, int p) {
+        while (parent[p] != p) {
+            parent[p] = parent[parent[p]];
+            p = parent[p];
+        }
+        return p;
+    }
+
+    private static int union(int[] parent, int[] size, int a, int b) {
+        if (a == b) return a;
+        if (size[a] < size[b]) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+        parent[b] = a;
+        size[a] += size[b];
+        return a;
+    }
+
+    private class ReplayTask extends RecursiveAction {
+        private final int[] componentStarts;
+        private final int[] componentGames;
+        private final int from;
+        private final int to;
+        private final double[] mu;
+        private final double[] phi;
+        private final double[] sigma;
+        private final int[] games;
+
+        ReplayTask(int[] componentStarts, int[] componentGames, int from, int to,
+                double[] mu, double[] phi, double[] sigma, int[] games) {
+            this.componentStarts = componentStarts;
+            this.componentGames = componentGames;
+            this.from = from;
+            this.to = to;
+            this.mu = mu;
+            this.phi = phi;
+            this.sigma = sigma;
+            this.games = games;
+        }
+
+        @Override
+        protected void compute() {
+            int gameTotal = componentStarts[to] - componentStarts[from];
+            if (to - from > 1 && gameTotal > SEQUENTIAL_GAMES) {
+                // Coupe au milieu en nombre de parties, pas en nombre de composantes
+                int half = componentStarts[from] + gameTotal / 2;
+                int split = Arrays.binarySearch(componentStarts, from, to + 1, half);
+                if (split < 0) split = -split - 1;
+                split = Math.max(from + 1, Math.min(split, to - 1));
+                invokeAll(
+                    new ReplayTask(componentStarts, componentGames, from, split, mu, phi, sigma, games),
+                    new ReplayTask(componentStarts, componentGames, split, to, mu, phi, sigma, games));
+                return;
+            }
+
+            Scratch scratch = new Scratch(8);
+            for (int i = componentStarts[from]; i < componentStarts[to]; i++) {
+                replayGame(componentGames[i], scratch);
+            }
+        }
+
+        private void replayGame(int g, Scratch scratch) {
+            int start = gameStarts[g];
+            int k = gameStarts[g + 1] - start;
+            scratch.ensure(k);
+            for (int i = 0; i < k; i++) {
+                int p = players[start + i];
+                scratch.mu[i] = mu[p];
+                scratch.phi[i] = phi[p];
+                scratch.sigma[i] = sigma[p];
+                for (int j = 0; j < k; j++) {
+                    scratch.outcomes[i][j] = j == i ? 0 : Glicko2.outcome(victories[start + i], scores[start + i],
+                        victories[start + j], scores[start + j], NO_SCORE);
+                }
+            }
+            glicko2.rateGame(k, scratch.mu, scratch.phi, scratch.sigma, scratch.outcomes,
+                scratch.outMu, scratch.outPhi, scratch.outSigma);
+            for (int i = 0; i < k; i++) {
+                int p = players[start + i];
+                mu[p] = scratch.outMu[i];
+                phi[p] = scratch.outPhi[i];
+                sigma[p] = scratch.outSigma[i];
+                games[p]++;
+            }
+        }
+    }
+
+    // Tampons réutilisés d'une partie à l'autre par une même tâche
+    private static class Scratch {
+        double[] mu, phi, sigma, outMu, outPhi, outSigma;
+        double[][] outcomes;
+
+        Scratch(int capacity) {
+            allocate(capacity);
+        }
+
+        void ensure(int k) {
+            if (k > mu.length) allocate(Math.max(k, mu.length * 2));
+        }
+
+        private void allocate(int capacity) {
+            mu = new double[capacity];
+            phi = new double[capacity];
+            sigma = new double[capacity];
+            outMu = new double[capacity];
+            outPhi = new double[capacity];
+            outSigma = new double[capacity];
+            outcomes = new double[capacity][capacity];
+        }
+    }
+}
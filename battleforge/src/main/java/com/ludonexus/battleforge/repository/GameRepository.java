@@ -1,14 +1,33 @@
 package com.ludonexus.battleforge.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.repository.query.Param;
 
 import com.ludonexus.battleforge.model.Game;
 
+import jakarta.persistence.LockModeType;
+
 public interface GameRepository extends ListCrudRepository<Game, Long> {
 	Optional<Game> getGameById(Long gameId);
 	List<Game> findAllByHostId(Long hostId);
 	void deleteByHostId(Long hostId);
+	List<Game> findByDatetimeBeforeOrderByIdAsc(LocalDateTime cutoff, Limit limit);
+
+	// Sérialise les mises à jour de résultats d'une même partie (détection de la fin de partie)
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT g FROM Game g WHERE g.id = :gameId")
+	Optional<Game> findByIdForUpdate(@Param("gameId") Long gameId);
+
+	@Modifying(clearAutomatically = true)
+	@Query("DELETE FROM Game g WHERE g.id IN :gameIds")
+	void deleteAllByIdIn(Collection<Long> gameIds);
 }
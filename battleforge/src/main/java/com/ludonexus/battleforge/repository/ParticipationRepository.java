@@ -1,10 +1,14 @@
 package com.ludonexus.battleforge.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.ListCrudRepository;
 
+import com.ludonexus.battleforge.model.GameType;
 import com.ludonexus.battleforge.model.Participation;
 
 public interface ParticipationRepository extends ListCrudRepository<Participation, Long> {
@@ -12,6 +16,14 @@ public interface ParticipationRepository extends ListCrudRepository<Participatio
 	Optional<Participation> getByGameIdAndPlayerId(Long gameId, Long playerId);
 	List<Participation> findAllByPlayerId(Long playerId);
 	List<Participation> findAllByGameId(Long gameId);
+	List<Participation> findAllByGameIdIn(Collection<Long> gameIds);
 	void deleteByGameId(Long GameId);
 	void deleteByPlayerId(Long playerId);
+
+	@Query("SELECT MAX(p.score) FROM Participation p WHERE p.playerId = :playerId AND p.game.gameType = :gameType")
+	Optional<Integer> findBestScore(Long playerId, GameType gameType);
+
+	@Modifying(clearAutomatically = true)
+	@Query("DELETE FROM Participation p WHERE p.game.id IN :gameIds")
+	void deleteAllByGameIdIn(Collection<Long> gameIds);
 }
@@ -0,0 +1,29 @@
+package com.ludonexus.battleforge.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import com.ludonexus.battleforge.model.PlayerRating;
+
+import jakarta.persistence.LockModeType;
+
+public interface PlayerRatingRepository extends ListCrudRepository<PlayerRating, Long> {
+	// Verrous pris dans l'ordre des ids pour éviter les interblocages entre parties concurrentes
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	List<PlayerRating> findAllByPlayerIdInOrderByPlayerIdAsc(Collection<Long> playerIds);
+
+	@Modifying
+	@Query(value = """
+		INSERT INTO player_ratings (player_id, rating, deviation, volatility, games, updated_at)
+		VALUES (:playerId, :rating, :deviation, :volatility, 0, now())
+		ON CONFLICT (player_id) DO NOTHING
+		""", nativeQuery = true)
+	void insertIfAbsent(@Param("playerId") Long playerId, @Param("rating") double rating,
+		@Param("deviation") double deviation, @Param("volatility") double volatility);
+}
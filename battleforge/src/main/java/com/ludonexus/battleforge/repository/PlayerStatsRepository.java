@@ -0,0 +1,33 @@
+package com.ludonexus.battleforge.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import com.ludonexus.battleforge.model.GameType;
+import com.ludonexus.battleforge.model.PlayerStats;
+
+import jakarta.persistence.LockModeType;
+
+public interface PlayerStatsRepository extends ListCrudRepository<PlayerStats, Long> {
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	Optional<PlayerStats> findByPlayerIdAndGameType(Long playerId, GameType gameType);
+	List<PlayerStats> findAllByPlayerId(Long playerId);
+	List<PlayerStats> findAllByPlayerIdIn(Collection<Long> playerIds);
+	void deleteByPlayerId(Long playerId);
+
+	// Deux premiers résultats concurrents : le second n'insère rien et attend le verrou de la ligne
+	@Modifying
+	@Query(value = """
+		INSERT INTO player_stats (player_id, game_type, games_played, wins, scored_games, total_score)
+		VALUES (:playerId, :gameType, 0, 0, 0, 0)
+		ON CONFLICT (player_id, game_type) DO NOTHING
+		""", nativeQuery = true)
+	void insertIfAbsent(@Param("playerId") Long playerId, @Param("gameType") String gameType);
+}
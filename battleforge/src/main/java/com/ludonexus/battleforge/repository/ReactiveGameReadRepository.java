@@ -0,0 +1,122 @@
+package com.ludonexus.battleforge.repository;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.ludonexus.battleforge.dto.GameDTO;
+import com.ludonexus.battleforge.dto.ParticipationDTO;
+import com.ludonexus.battleforge.model.GameType;
+import com.ludonexus.battleforge.shard.ShardDatabaseClients;
+import com.ludonexus.battleforge.shard.ShardRouter;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking read queries over R2DBC, mapped straight to DTOs (no persistence context).
+ * With sharding, a game is read on the shard owning it and the list is merged from every shard.
+ */
+@Repository
+public class ReactiveGameReadRepository {
+    private static final String GAME_WITH_PARTICIPATIONS = """
+        SELECT g.id AS game_id, g.game_type, g.host_id, p.player_id, p.score, p.victory
+        FROM games g LEFT JOIN participations p ON p.game_id = g.id
+        """;
+
+    private final DatabaseClient databaseClient;
+    private final ShardDatabaseClients shardDatabaseClients;
+    private final ShardRouter shardRouter;
+
+    public ReactiveGameReadRepository(DatabaseClient databaseClient,
+            ObjectProvider<ShardDatabaseClients> shardDatabaseClients, ShardRouter shardRouter) {
+        this.databaseClient = databaseClient;
+        this.shardDatabaseClients = shardDatabaseClients.getIfAvailable();
+        this.shardRouter = shardRouter;
+    }
+
+    public Mono<GameDTO> findGameById(Long gameId) {
+        return onGameShard(gameId, client -> findGameById(client, gameId));
+    }
+
+    // Une seule requête jointe, triée par partie : les lignes consécutives d'une même partie sont regroupées
+    public Flux<GameDTO> findAllGames() {
+        if (shardDatabaseClients == null) {
+            return findAllGames(databaseClient);
+        }
+        // Chaque shard renvoie ses parties triées par id : fusion ordonnée sans tout charger
+        List<Flux<GameDTO>> perShard = shardDatabaseClients.asMap().values().stream()
+            .map(this::findAllGames)
+            .toList();
+        return Flux.mergeComparing(Comparator.comparing(GameDTO::getId), perShard.toArray(Flux[]::new));
+    }
+
+    /**
+     * Runs the query on the shard owning the game. While rebalancing, a game not found on
+     * its new owner is looked up on the shard the previous ring gave it (as ShardRouter.locate).
+     */
+    private <T> Mono<T> onGameShard(Long gameId, Function<DatabaseClient, Mono<T>> query) {
+        if (shardDatabaseClients == null) {
+            return query.apply(databaseClient);
+        }
+        String owner = shardRouter.ownerOf(gameId);
+        String previousOwner = shardRouter.previousOwnerOf(gameId);
+        Mono<T> result = query.apply(shardDatabaseClients.get(owner));
+        if (owner.equals(previousOwner)) {
+            return result;
+        }
+        return result.switchIfEmpty(Mono.defer(() -> query.apply(shardDatabaseClients.get(previousOwner))));
+    }
+
+    private Mono<GameDTO> findGameById(DatabaseClient client, Long gameId) {
+        return client.sql(GAME_WITH_PARTICIPATIONS + " WHERE g.id = :gameId ORDER BY p.id")
+            .bind("gameId", gameId)
+            .map(GameRow::of)
+            .all()
+            .collectList()
+            .flatMap(rows -> rows.isEmpty() ? Mono.empty() : Mono.just(GameRow.toDTO(rows)));
+    }
+
+    private Flux<GameDTO> findAllGames(DatabaseClient client) {
+        return client.sql(GAME_WITH_PARTICIPATIONS + " ORDER BY g.id, p.id")
+            .map(GameRow::of)
+            .all()
+            .bufferUntilChanged(GameRow::gameId)
+            .map(GameRow::toDTO);
+    }
+
+    private record GameRow(Long gameId, String gameType, Long hostId, Long playerId, Integer score, Boolean victory) {
+        static GameRow of(Readable row) {
+            return new GameRow(
+                row.get("game_id", Long.class),
+                row.get("game_type", String.class),
+                row.get("host_id", Long.class),
+                row.get("player_id", Long.class),
+                row.get("score", Integer.class),
+                row.get("victory", Boolean.class));
+        }
+
+        static GameDTO toDTO(List<GameRow> rows) {
+            GameRow first = rows.get(0);
+            GameDTO dto = new GameDTO();
+            dto.setId(first.gameId());
+            dto.setGameType(first.gameType() == null ? null : GameType.valueOf(first.gameType()));
+            dto.setHostId(first.hostId());
+            for (GameRow row : rows) {
+                if (row.playerId() == null) continue;
+                ParticipationDTO participation = new ParticipationDTO();
+                participation.setGameId(row.gameId());
+                participation.setPlayerId(row.playerId());
+                participation.setScore(row.score());
+                participation.setVictory(row.victory());
+                dto.getParticipations().add(participation);
+            }
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.ludonexus.battleforge.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ludonexus.battleforge.dto.ExportReportDTO;
+import com.ludonexus.battleforge.dto.ShardExportDTO;
+import com.ludonexus.battleforge.export.ExportCheckpoints;
+import com.ludonexus.battleforge.export.ExportFormat;
+import com.ludonexus.battleforge.export.ExportTable;
+import com.ludonexus.battleforge.export.RowWriter;
+import com.ludonexus.battleforge.shard.ShardRouter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Streams games and participations straight from a server-side cursor to a channel.
+ * Rows are exported by increasing id; a named job remembers a watermark so the next run only
+ * moves newer rows (at least once: see {@link ExportCheckpoints}). With sharding every shard is exported in turn, with its own
+ * watermark (kept in the shard's export_watermarks table) and a trailing shard column.
+ */
+@Service
+public class ExportService {
+    private static final Logger log = LoggerFactory.getLogger(ExportService.class);
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final Pattern JOB_NAME = Pattern.compile("[A-Za-z0-9_-]{1,100}");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final Path directory;
+    private final Duration checkpointInterval;
+    private final ExportCheckpoints checkpoints;
+    private final ShardRouter shardRouter;
+    private ScheduledExecutorService checkpointer;
+
+    public ExportService(DataSource dataSource, PlatformTransactionManager transactionManager, ShardRouter shardRouter,
+            @Value("${ludonexus.export.fetch-size:5000}") int fetchSize,
+            @Value("${ludonexus.export.directory:export}") Path directory,
+            @Value("${ludonexus.export.safety-window:5m}") Duration safetyWindow,
+            @Value("${ludonexus.export.checkpoint-interval:1m}") Duration checkpointInterval) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.directory = directory;
+        this.checkpointInterval = checkpointInterval;
+        this.checkpoints = new ExportCheckpoints(safetyWindow);
+        this.shardRouter = shardRouter;
+    }
+
+    @PostConstruct
+    public void start() {
+        checkpointer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "export-checkpoints");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = checkpointInterval.toMillis();
+        checkpointer.scheduleWithFixedDelay(this::recordCheckpoints, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        checkpointer.shutdownNow();
+    }
+
+    public ExportReportDTO export(ExportTable table, ExportFormat format, Long sinceId, String job,
+            WritableByteChannel channel) {
+        if (job != null && !isValidJob(job)) {
+            throw new IllegalArgumentException("Invalid export job name");
+        }
+
+        ExportReportDTO report = new ExportReportDTO();
+        report.setTable(table);
+        report.setFormat(format);
+        report.setJob(job);
+
+        List<String> columns = new ArrayList<>(table.getColumns());
+        if (shardRouter.isEnabled()) {
+            // Les ids de participations sont propres à chaque shard
+            columns.add("shard");
+        }
+        List<ShardRun> runs = new ArrayList<>();
+        try (RowWriter writer = format.newWriter(channel, columns)) {
+            writer.writeHeader();
+            shardRouter.onEachShard(shard -> runs.add(exportShard(table, sinceId, job, shard, writer, columns.size())));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + table.getTableName() + " export", e);
+        }
+
+        // Chaque shard garde son propre watermark, enregistré une fois tout l'export écrit
+        if (job != null) {
+            Iterator<ShardRun> exported = runs.iterator();
+            shardRouter.onEachShard(shard -> {
+                ShardRun run = exported.next();
+                run.range().setWatermark(saveWatermark(job, table, run.nextStart()));
+            });
+        }
+
+        for (ShardRun run : runs) {
+            report.setRows(report.getRows() + run.range().getRows());
+        }
+        if (shardRouter.isEnabled()) {
+            report.setShards(runs.stream().map(ShardRun::range).toList());
+        } else {
+            ShardExportDTO range = runs.get(0).range();
+            report.setFromId(range.getFromId());
+            report.setToId(range.getToId());
+            report.setWatermark(range.getWatermark());
+        }
+        return report;
+    }
+
+    public static boolean isValidJob(String job) {
+        return JOB_NAME.matcher(job).matches();
+    }
+
+    private ShardRun exportShard(ExportTable table, Long sinceId, String job, String shard,
+            RowWriter writer, int columnCount) {
+        ShardExportDTO range = new ShardExportDTO();
+        range.setShard(shard);
+        // PostgreSQL n'utilise un curseur (fetch size) qu'en dehors de l'autocommit
+        return readOnlyTransaction.execute(status -> {
+            // Lu dans la transaction de l'export, avant son curseur dont l'instantané est plus récent
+            LocalDateTime snapshotAt = jdbcTemplate.queryForObject("SELECT localtimestamp", LocalDateTime.class);
+            long watermark = job != null ? getWatermark(job, table) : 0L;
+            range.setFromId(sinceId != null ? sinceId : watermark);
+            range.setToId(range.getFromId());
+            int tableColumns = table.getColumns().size();
+            jdbcTemplate.query(table.selectSinceId(), rs -> {
+                Object[] values = new Object[columnCount];
+                for (int i = 0; i < tableColumns; i++) {
+                    values[i] = rs.getObject(i + 1);
+                }
+                if (shard != null) {
+                    values[tableColumns] = shard;
+                }
+                try {
+                    writer.writeRow(values);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                range.setToId(rs.getLong(1));
+                range.setRows(range.getRows() + 1);
+            }, range.getFromId());
+            long nextStart = checkpoints.nextStart(shard, table, range.getFromId(), snapshotAt);
+            return new ShardRun(range, Math.max(watermark, nextStart));
+        });
+    }
+
+    public ExportReportDTO exportToFile(ExportTable table, ExportFormat format, Long sinceId, String job) {
+        if (job != null && !isValidJob(job)) {
+            throw new IllegalArgumentException("Invalid export job name");
+        }
+        String name = String.format("%s-%s.%s", table.getTableName(),
+            LocalDateTime.now().format(FILE_TIMESTAMP), format.getExtension());
+        Path file = directory.resolve(job != null ? job + "-" + name : name);
+        try {
+            Files.createDirectories(directory);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                ExportReportDTO report = export(table, format, sinceId, job, channel);
+                channel.force(false);
+                report.setFile(file.toAbsolutePath().toString());
+                return report;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write export file " + file, e);
+        }
+    }
+
+    // Plus haut id de chaque table sur chaque shard, à l'heure de la base
+    private void recordCheckpoints() {
+        try {
+            shardRouter.onEachShard(shard -> {
+                for (ExportTable table : ExportTable.values()) {
+                    jdbcTemplate.query("SELECT COALESCE(MAX(id), 0), localtimestamp FROM " + table.getTableName(), rs -> {
+                        checkpoints.record(shard, table, rs.getLong(1), rs.getObject(2, LocalDateTime.class));
+                    });
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to record export checkpoints", e);
+        }
+    }
+
+    private long getWatermark(String job, ExportTable table) {
+        List<Long> watermarks = jdbcTemplate.queryForList(
+            "SELECT last_id FROM export_watermarks WHERE job = ? AND table_name = ?",
+            Long.class, job, table.getTableName());
+        return watermarks.isEmpty() ? 0L : watermarks.get(0);
+    }
+
+    /**
+     * Ids are allocated before their transaction commits, so a row with a lower id can become
+     * visible after a higher one was exported. The next run therefore starts from the last
+     * checkpoint taken safety-window before this run's snapshot: only the rows allocated since
+     * that checkpoint are exported again.
+     *
+     * @return the watermark the next run starts from
+     */
+    private long saveWatermark(String job, ExportTable table, long nextStart) {
+        return writeTransaction.execute(status -> jdbcTemplate.queryForObject("""
+            INSERT INTO export_watermarks (job, table_name, last_id, exported_at)
+            VALUES (?, ?, ?, now())
+            ON CONFLICT (job, table_name) DO UPDATE
+                SET last_id = GREATEST(export_watermarks.last_id, EXCLUDED.last_id), exported_at = EXCLUDED.exported_at
+            RETURNING last_id
+            """, Long.class, job, table.getTableName(), nextStart));
+    }
+
+    private record ShardRun(ShardExportDTO range, long nextStart) {
+    }
+}
@@ -0,0 +1,132 @@
+package com.ludonexus.battleforge.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ludonexus.battleforge.archive.ArchiveSegment;
+import com.ludonexus.battleforge.archive.ArchiveSegmentWriter;
+import com.ludonexus.battleforge.archive.GameArchive;
+import com.ludonexus.battleforge.dto.ArchiveReportDTO;
+import com.ludonexus.battleforge.model.Game;
+import com.ludonexus.battleforge.model.Participation;
+import com.ludonexus.battleforge.repository.GameRepository;
+import com.ludonexus.battleforge.repository.ParticipationRepository;
+import com.ludonexus.battleforge.shard.ShardRouter;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Moves old games and their participations out of the database into archive segments,
+ * one segment and one transaction per batch (and per shard).
+ */
+@Service
+@RequiredArgsConstructor
+public class GameArchiveService {
+    private final GameRepository gameRepository;
+    private final ParticipationRepository participationRepository;
+    private final GameArchive gameArchive;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+
+    @Value("${ludonexus.archive.retention:365d}")
+    private Duration retention;
+
+    @Value("${ludonexus.archive.games-per-segment:10000}")
+    private int gamesPerSegment;
+
+    public ArchiveReportDTO archiveExpiredGames() {
+        return archiveGamesBefore(LocalDateTime.now().minus(retention));
+    }
+
+    public ArchiveReportDTO archiveGamesBefore(LocalDateTime cutoff) {
+        ArchiveReportDTO report = new ArchiveReportDTO();
+        report.setCutoff(cutoff);
+        shardRouter.onEachShard(shard -> {
+            int segments;
+            while ((segments = transactionTemplate.execute(status -> archiveBatch(cutoff, report))) > 0) {
+                report.setSegments(report.getSegments() + segments);
+            }
+        });
+        return report;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff, ArchiveReportDTO report) {
+        List<Game> games = gameRepository.findByDatetimeBeforeOrderByIdAsc(cutoff, Limit.of(gamesPerSegment));
+        if (games.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> gameIds = games.stream().map(Game::getId).toList();
+        List<Participation> participations = participationRepository.findAllByGameIdIn(gameIds);
+        Map<Long, List<Participation>> participationsByGame = participations.stream()
+            .collect(Collectors.groupingBy(p -> p.getGame().getId()));
+
+        List<ArchiveSegment> segments = writeSegments(games, participationsByGame);
+        // Enregistrés seulement une fois la suppression validée, sinon les points archivés seraient
+        // comptés en plus des parties encore en base ; les fichiers sont supprimés si la transaction échoue
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                for (ArchiveSegment segment : segments) {
+                    if (status == STATUS_COMMITTED) {
+                        gameArchive.register(segment);
+                    } else {
+                        discard(segment);
+                    }
+                }
+            }
+        });
+
+        participationRepository.deleteAllByGameIdIn(gameIds);
+        gameRepository.deleteAllByIdIn(gameIds);
+
+        report.setArchivedGames(report.getArchivedGames() + games.size());
+        report.setArchivedParticipations(report.getArchivedParticipations() + participations.size());
+        return segments.size();
+    }
+
+    // Un lot trop gros pour un seul segment continue dans le suivant
+    private List<ArchiveSegment> writeSegments(List<Game> games, Map<Long, List<Participation>> participationsByGame) {
+        List<ArchiveSegment> segments = new ArrayList<>();
+        int written = 0;
+        while (written < games.size()) {
+            String name = String.format("segment-%d-%d", System.currentTimeMillis(), games.get(written).getId());
+            Path tmp = gameArchive.getDirectory().resolve(name + ".tmp");
+            Path file = gameArchive.getDirectory().resolve(name + GameArchive.SEGMENT_SUFFIX);
+            try {
+                written += ArchiveSegmentWriter.write(tmp, games.subList(written, games.size()), participationsByGame);
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+                segments.add(new ArchiveSegment(file));
+            } catch (IOException e) {
+                segments.forEach(this::discard);
+                throw new UncheckedIOException("Failed to write archive segment " + file, e);
+            }
+        }
+        return segments;
+    }
+
+    private void discard(ArchiveSegment segment) {
+        try {
+            segment.close();
+            Files.deleteIfExists(segment.getFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to discard archive segment " + segment.getFile(), e);
+        }
+    }
+}
@@ -1,22 +1,29 @@
 package com.ludonexus.battleforge.service;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.client.RestTemplate;
 
+import com.ludonexus.battleforge.archive.GameArchive;
+import com.ludonexus.battleforge.concurrent.SingleFlight;
 import com.ludonexus.battleforge.dto.GameDTO;
 import com.ludonexus.battleforge.dto.ParticipationDTO;
 import com.ludonexus.battleforge.dto.PlayerPointsDTO;
 import com.ludonexus.battleforge.dto.UpdateParticipationWithScoreRequestDTO;
 import com.ludonexus.battleforge.model.Game;
+import com.ludonexus.battleforge.model.GameType;
 import com.ludonexus.battleforge.model.Participation;
 import com.ludonexus.battleforge.repository.GameRepository;
 import com.ludonexus.battleforge.repository.ParticipationRepository;
+import com.ludonexus.battleforge.shard.ShardRouter;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -25,7 +32,12 @@ import lombok.RequiredArgsConstructor;
 public class GameService {
    private final GameRepository gameRepository;
    private final ParticipationRepository participationRepository;
+   private final PlayerStatsService playerStatsService;
+   private final GameArchive gameArchive;
+   private final ShardRouter shardRouter;
+   private final SingleFlight<Long, GameDTO> gameReads;
    private final RestTemplate restTemplate;
+   private final RatingService ratingService;
    private static final String PLAYER_API_URL = "http://localhost:8080/api/players/{id}/points";
 
    public GameDTO createGame(GameDTO gameDTO) {
@@ -39,41 +51,67 @@ public class GameService {
        hostParticipation.setVictory(null);
 
        game.getParticipations().add(hostParticipation);
+       // Avec le sharding, save() alloue l'id et lie la transaction au shard de la partie avant toute insertion
        gameRepository.save(game);
+       playerStatsService.recordParticipation(hostParticipation);
 
        return gameToDTO(game);
    }
 
+   @Transactional(readOnly = true)
    public List<GameDTO> getAllGames() {
-       List<GameDTO> dtos = new ArrayList<>();
-       for (Game game : gameRepository.findAll()) {
-           dtos.add(gameToDTO(game));
+       List<GameDTO> dtos = shardRouter.scatterGather(shard -> {
+           List<GameDTO> shardDtos = new ArrayList<>();
+           for (Game game : gameRepository.findAll()) {
+               shardDtos.add(gameToDTO(game));
+           }
+           return shardDtos;
+       }, true);
+       if (shardRouter.isEnabled()) {
+           dtos.sort(Comparator.comparing(GameDTO::getId));
        }
        return dtos;
    }
 
+   @Transactional(readOnly = true)
    public GameDTO getGameById(Long gameId) {
-       Game game = gameRepository.findById(gameId)
+       shardRouter.bindGame(gameId);
+       return gameRepository.findById(gameId)
+           .map(this::gameToDTO)
+           .or(() -> gameArchive.findGame(gameId))
            .orElseThrow(() -> new IllegalArgumentException("Game not found"));
-       return gameToDTO(game);
    }
 
    public GameDTO updateGame(Long gameId, GameDTO gameDTO) {
+    shardRouter.bindGame(gameId);
     Game game = gameRepository.findById(gameId)
         .orElseThrow(() -> new IllegalArgumentException("Game not found"));
 
+    GameType previousGameType = game.getGameType();
     BeanUtils.copyProperties(gameDTO, game, "id");   
     game = gameRepository.save(game);
+
+    if (previousGameType != game.getGameType()) {
+        playerStatsService.removeParticipations(game.getParticipations(), previousGameType);
+        for (Participation participation : game.getParticipations()) {
+            playerStatsService.recordParticipation(participation);
+        }
+    }
+    forgetAfterCommit(gameId);
     return gameToDTO(game);
 }
 
    public void deleteGame(Long gameId) {
-       gameRepository.deleteById(gameId);
+       shardRouter.bindGame(gameId);
        removeGameParticipations(gameId);
+       gameRepository.deleteById(gameId);
+       forgetAfterCommit(gameId);
    }
 
    public ParticipationDTO updateParticipation(Long gameId, UpdateParticipationWithScoreRequestDTO participationRequestDTO) {
-       Game game = gameRepository.getGameById(gameId)
+       shardRouter.bindGame(gameId);
+       // Verrou sur la partie : deux derniers résultats concurrents voient chacun celui de l'autre
+       Game game = gameRepository.findByIdForUpdate(gameId)
            .orElseThrow(() -> new IllegalArgumentException("Game not found"));
        
        Participation participation = participationRepository.getByGameIdAndPlayerId(gameId, participationRequestDTO.getPlayerId())
@@ -84,15 +122,37 @@ public class GameService {
            gameRepository.save(game);
        }
 
+       Integer previousScore = participation.getScore();
+       Boolean previousVictory = participation.getVictory();
+
        BeanUtils.copyProperties(participationRequestDTO, participation);
        participation = participationRepository.save(participation);
 
-       updatePlayerPoints(participation.getPlayerId());
+       playerStatsService.updateResult(participation.getPlayerId(), game.getGameType(),
+           previousScore, previousVictory, participation.getScore(), participation.getVictory());
+
+       Long playerId = participation.getPlayerId();
+       if (shardRouter.isEnabled()) {
+           // Les autres shards ne voient la nouvelle valeur qu'après le commit
+           afterCommit(() -> updatePlayerPoints(playerId));
+       } else {
+           updatePlayerPoints(playerId);
+       }
+       forgetAfterCommit(gameId);
+
+       // Notée une seule fois, quand le dernier résultat de la partie est connu
+       if (previousVictory == null && participation.getVictory() != null) {
+           List<ParticipationDTO> results = game.getParticipations().stream().map(this::participationToDTO).toList();
+           if (RatingService.isSettled(game.getGameType(), results)) {
+               afterCommit(() -> ratingService.rateSettledGame(gameId, results));
+           }
+       }
 
        return participationToDTO(participation);
    }
 
    public void createParticipation(Long gameId, Long playerId) {
+       shardRouter.bindGame(gameId);
        Game game = gameRepository.getGameById(gameId)
            .orElseThrow(() -> new IllegalArgumentException("Game not found"));
            
@@ -107,21 +167,34 @@ public class GameService {
        participation.setVictory(null);
 
        participationRepository.save(participation);
+       playerStatsService.recordParticipation(participation);
+       forgetAfterCommit(gameId);
    }
 
    public void removeGameParticipations(Long gameId) {
+       shardRouter.bindGame(gameId);
+       List<Participation> participations = participationRepository.findAllByGameId(gameId);
        participationRepository.deleteByGameId(gameId);
+       if (!participations.isEmpty()) {
+           playerStatsService.removeParticipations(participations, participations.get(0).getGame().getGameType());
+       }
        updateGameMaxScore(gameId);
+       forgetAfterCommit(gameId);
    }
 
    public void removePlayerParticipations(Long playerId) {
-       List<Game> hostedGames = gameRepository.findAllByHostId(playerId);
-       for (Game game : hostedGames) {
-           game.setHostId(null);
-           gameRepository.save(game);
-       }
+       shardRouter.scatterGather(shard -> {
+           List<Game> hostedGames = gameRepository.findAllByHostId(playerId);
+           for (Game game : hostedGames) {
+               game.setHostId(null);
+               gameRepository.save(game);
+           }
 
-       participationRepository.deleteByPlayerId(playerId);
+           participationRepository.deleteByPlayerId(playerId);
+           playerStatsService.removePlayer(playerId);
+           return List.of();
+       }, false);
+       afterCommit(gameReads::forgetAll);
    }
 
    private void updateGameMaxScore(Long gameId) {
@@ -140,12 +213,18 @@ public class GameService {
    }
 
     private void updatePlayerPoints(Long playerId) {
-        List<Participation> participations = participationRepository.findAllByPlayerId(playerId);
+        List<Integer> scores = shardRouter.scatterGather(shard -> {
+            List<Integer> shardScores = new ArrayList<>();
+            for (Participation p : participationRepository.findAllByPlayerId(playerId)) {
+                shardScores.add(p.getScore());
+            }
+            return shardScores;
+        }, true);
         
-        int totalPoints = 0;
-        for (Participation p : participations) {
-            if (p.getScore() != null)
-                totalPoints += p.getScore();
+        int totalPoints = Math.toIntExact(gameArchive.getArchivedPoints(playerId));
+        for (Integer score : scores) {
+            if (score != null)
+                totalPoints = Math.addExact(totalPoints, score);
         }
 
         try {
@@ -162,6 +241,19 @@ public class GameService {
         }
     }
 
+    private void forgetAfterCommit(Long gameId) {
+        afterCommit(() -> gameReads.forget(gameId));
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     private GameDTO gameToDTO(Game game) {
         GameDTO gDTO = new GameDTO();
         BeanUtils.copyProperties(game, gDTO, "participations");
@@ -0,0 +1,139 @@
+package com.ludonexus.battleforge.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import com.ludonexus.battleforge.config.MatchmakingProperties;
+import com.ludonexus.battleforge.dto.MatchmakingRequestDTO;
+import com.ludonexus.battleforge.dto.MatchmakingStatusDTO;
+import com.ludonexus.battleforge.dto.PlayerProfileDTO;
+import com.ludonexus.battleforge.matchmaking.Match;
+import com.ludonexus.battleforge.matchmaking.MatchmakingEngine;
+import com.ludonexus.battleforge.matchmaking.Ticket;
+import com.ludonexus.battleforge.model.Game;
+import com.ludonexus.battleforge.model.Participation;
+import com.ludonexus.battleforge.repository.GameRepository;
+import com.ludonexus.battleforge.shard.ShardRouter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class MatchmakingService {
+    private static final String PLAYER_API_URL = "http://localhost:8080/api/players/{id}";
+
+    private final GameRepository gameRepository;
+    private final PlayerStatsService playerStatsService;
+    private final RestTemplate restTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final MatchmakingEngine engine;
+
+    public MatchmakingService(GameRepository gameRepository, PlayerStatsService playerStatsService,
+            RestTemplate restTemplate, TransactionTemplate transactionTemplate, ShardRouter shardRouter,
+            MatchmakingProperties properties) {
+        this.gameRepository = gameRepository;
+        this.playerStatsService = playerStatsService;
+        this.restTemplate = restTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.shardRouter = shardRouter;
+        this.engine = new MatchmakingEngine(properties, this::createGames);
+    }
+
+    @PostConstruct
+    public void start() {
+        engine.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        engine.close();
+    }
+
+    public MatchmakingStatusDTO enqueue(MatchmakingRequestDTO request) {
+        PlayerProfileDTO profile;
+        try {
+            profile = restTemplate.getForObject(PLAYER_API_URL, PlayerProfileDTO.class, request.getPlayerId());
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to fetch player profile", e);
+        }
+        if (profile == null) {
+            throw new IllegalArgumentException("Player not found");
+        }
+
+        Ticket ticket = engine.enqueue(request.getPlayerId(), request.getGameType(),
+            profile.getLevel() == null ? 1 : profile.getLevel(),
+            profile.getTotalPoints() == null ? 0 : profile.getTotalPoints());
+        return toDTO(ticket);
+    }
+
+    public boolean cancel(Long playerId) {
+        return engine.cancel(playerId);
+    }
+
+    public Optional<MatchmakingStatusDTO> getStatus(Long playerId) {
+        return engine.getTicket(playerId).map(this::toDTO);
+    }
+
+    // Une seule transaction par passe du matcher (une par partie avec le sharding)
+    private void createGames(List<Match> matches) {
+        List<Game> games = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            Game game = new Game();
+            game.setGameType(match.gameType());
+            game.setHostId(match.tickets().get(0).getPlayerId());
+            for (Ticket ticket : match.tickets()) {
+                Participation participation = new Participation();
+                participation.setGame(game);
+                participation.setPlayerId(ticket.getPlayerId());
+                game.getParticipations().add(participation);
+            }
+            games.add(game);
+        }
+
+        if (shardRouter.isEnabled()) {
+            // Chaque partie est marquée dès son commit : en cas d'échec seules les suivantes retournent en file
+            for (int i = 0; i < matches.size(); i++) {
+                Game game = games.get(i);
+                transactionTemplate.executeWithoutResult(status -> saveGame(game));
+                assignGame(matches.get(i), game);
+            }
+        } else {
+            transactionTemplate.executeWithoutResult(status -> games.forEach(this::saveGame));
+            for (int i = 0; i < matches.size(); i++) {
+                assignGame(matches.get(i), games.get(i));
+            }
+        }
+    }
+
+    private void assignGame(Match match, Game game) {
+        for (Ticket ticket : match.tickets()) {
+            ticket.setGameId(game.getId());
+        }
+    }
+
+    private void saveGame(Game game) {
+        // Avec le sharding, save() alloue l'id et lie la transaction au shard de la partie avant toute insertion
+        gameRepository.save(game);
+        for (Participation participation : game.getParticipations()) {
+            playerStatsService.recordParticipation(participation);
+        }
+    }
+
+    private MatchmakingStatusDTO toDTO(Ticket ticket) {
+        MatchmakingStatusDTO dto = new MatchmakingStatusDTO();
+        dto.setPlayerId(ticket.getPlayerId());
+        dto.setGameType(ticket.getGameType());
+        dto.setStatus(ticket.getStatus());
+        dto.setGameId(ticket.getGameId());
+        long end = ticket.getMatchedAt() != 0 ? ticket.getMatchedAt() : System.nanoTime();
+        dto.setWaitingMillis(TimeUnit.NANOSECONDS.toMillis(Math.max(0, end - ticket.getEnqueuedAt())));
+        return dto;
+    }
+}
@@ -0,0 +1,151 @@
+package com.ludonexus.battleforge.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ludonexus.battleforge.archive.GameArchive;
+import com.ludonexus.battleforge.dto.PlayerStatsDTO;
+import com.ludonexus.battleforge.model.GameType;
+import com.ludonexus.battleforge.model.Participation;
+import com.ludonexus.battleforge.model.PlayerStats;
+import com.ludonexus.battleforge.repository.ParticipationRepository;
+import com.ludonexus.battleforge.repository.PlayerStatsRepository;
+import com.ludonexus.battleforge.shard.ShardRouter;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Maintains the per player and per game type aggregates of the participations.
+ * Every write on a participation must go through this service so the table stays in sync.
+ * With sharding, each shard aggregates its own games and reads add the shards up.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class PlayerStatsService {
+    private final PlayerStatsRepository playerStatsRepository;
+    private final ParticipationRepository participationRepository;
+    private final GameArchive gameArchive;
+    private final ShardRouter shardRouter;
+
+    public void recordParticipation(Participation participation) {
+        GameType gameType = participation.getGame().getGameType();
+        if (gameType == null) return;
+
+        PlayerStats stats = lockStats(participation.getPlayerId(), gameType);
+        stats.setGamesPlayed(stats.getGamesPlayed() + 1);
+        applyResult(stats, participation.getScore(), participation.getVictory(), 1);
+        playerStatsRepository.save(stats);
+    }
+
+    public void updateResult(Long playerId, GameType gameType,
+            Integer oldScore, Boolean oldVictory, Integer newScore, Boolean newVictory) {
+        if (gameType == null) return;
+
+        PlayerStats stats = lockStats(playerId, gameType);
+        applyResult(stats, oldScore, oldVictory, -1);
+        applyResult(stats, newScore, newVictory, 1);
+        if (oldScore != null && oldScore.equals(stats.getBestScore())
+                && (newScore == null || newScore < oldScore)) {
+            stats.setBestScore(findBestScore(playerId, gameType));
+        }
+        playerStatsRepository.save(stats);
+    }
+
+    // Doit être appelé une fois les participations supprimées (ou déplacées) en base
+    public void removeParticipations(List<Participation> participations, GameType gameType) {
+        if (gameType == null) return;
+
+        for (Participation participation : participations) {
+            PlayerStats stats = lockStats(participation.getPlayerId(), gameType);
+            stats.setGamesPlayed(Math.max(0, stats.getGamesPlayed() - 1));
+            applyResult(stats, participation.getScore(), participation.getVictory(), -1);
+            if (participation.getScore() != null && participation.getScore().equals(stats.getBestScore())) {
+                stats.setBestScore(findBestScore(participation.getPlayerId(), gameType));
+            }
+            playerStatsRepository.save(stats);
+        }
+    }
+
+    public void removePlayer(Long playerId) {
+        playerStatsRepository.deleteByPlayerId(playerId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PlayerStatsDTO> getPlayerStats(Long playerId) {
+        return toDTOs(shardRouter.scatterGather(shard -> playerStatsRepository.findAllByPlayerId(playerId), true));
+    }
+
+    @Transactional(readOnly = true)
+    public List<PlayerStatsDTO> getPlayersStats(List<Long> playerIds) {
+        return toDTOs(shardRouter.scatterGather(shard -> playerStatsRepository.findAllByPlayerIdIn(playerIds), true));
+    }
+
+    private PlayerStats lockStats(Long playerId, GameType gameType) {
+        playerStatsRepository.insertIfAbsent(playerId, gameType.name());
+        return playerStatsRepository.findByPlayerIdAndGameType(playerId, gameType).orElseThrow();
+    }
+
+    private Integer findBestScore(Long playerId, GameType gameType) {
+        Integer live = participationRepository.findBestScore(playerId, gameType).orElse(null);
+        Integer archived = gameArchive.getArchivedBestScore(playerId, gameType);
+        if (live == null) return archived;
+        if (archived == null) return live;
+        return Math.max(live, archived);
+    }
+
+    private void applyResult(PlayerStats stats, Integer score, Boolean victory, int sign) {
+        if (Boolean.TRUE.equals(victory)) {
+            stats.setWins(Math.max(0, stats.getWins() + sign));
+        }
+        if (score != null) {
+            stats.setScoredGames(Math.max(0, stats.getScoredGames() + sign));
+            stats.setTotalScore(stats.getTotalScore() + (long) sign * score);
+            if (sign > 0 && (stats.getBestScore() == null || score > stats.getBestScore())) {
+                stats.setBestScore(score);
+            }
+        }
+    }
+
+    private List<PlayerStatsDTO> toDTOs(List<PlayerStats> statsList) {
+        List<PlayerStatsDTO> dtos = new ArrayList<>();
+        for (PlayerStats stats : mergeShards(statsList)) {
+            PlayerStatsDTO dto = new PlayerStatsDTO();
+            BeanUtils.copyProperties(stats, dto);
+            dto.setAverageScore(stats.getScoredGames() > 0
+                ? (double) stats.getTotalScore() / stats.getScoredGames()
+                : null);
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    // Une ligne par shard pour un même joueur et type de jeu : les compteurs s'additionnent
+    private List<PlayerStats> mergeShards(List<PlayerStats> statsList) {
+        if (!shardRouter.isEnabled()) return statsList;
+
+        Map<String, PlayerStats> merged = new LinkedHashMap<>();
+        for (PlayerStats stats : statsList) {
+            merged.merge(stats.getPlayerId() + ":" + stats.getGameType(), stats, (a, b) -> {
+                PlayerStats sum = new PlayerStats();
+                sum.setPlayerId(a.getPlayerId());
+                sum.setGameType(a.getGameType());
+                sum.setGamesPlayed(a.getGamesPlayed() + b.getGamesPlayed());
+                sum.setWins(a.getWins() + b.getWins());
+                sum.setScoredGames(a.getScoredGames() + b.getScoredGames());
+                sum.setTotalScore(a.getTotalScore() + b.getTotalScore());
+                sum.setBestScore(a.getBestScore() == null ? b.getBestScore()
+                    : b.getBestScore() == null ? a.getBestScore()
+                    : Math.max(a.getBestScore(), b.getBestScore()));
+                return sum;
+            });
+        }
+        return new ArrayList<>(merged.values());
+    }
+}
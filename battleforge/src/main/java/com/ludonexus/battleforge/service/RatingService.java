@@ -0,0 +1,302 @@
+package com.ludonexus.battleforge.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ludonexus.battleforge.archive.GameArchive;
+import com.ludonexus.battleforge.config.RatingProperties;
+import com.ludonexus.battleforge.dto.ParticipationDTO;
+import com.ludonexus.battleforge.dto.PlayerRatingDTO;
+import com.ludonexus.battleforge.dto.RatingRecomputeReportDTO;
+import com.ludonexus.battleforge.model.GameType;
+import com.ludonexus.battleforge.model.PlayerRating;
+import com.ludonexus.battleforge.rating.Glicko2;
+import com.ludonexus.battleforge.rating.RatingPublisher;
+import com.ludonexus.battleforge.rating.RatingReplay;
+import com.ludonexus.battleforge.repository.PlayerRatingRepository;
+import com.ludonexus.battleforge.shard.ShardRouter;
+
+/**
+ * Glicko-2 ratings over RANKED games. A game is rated once, when its last result is set (rated_games
+ * keeps the rated ids); a full recompute replays the whole history (database and archive) and
+ * replaces every rating.
+ * Ratings live in player_ratings on the main shard and are pushed to PlayerSphere in bulk.
+ */
+@Service
+public class RatingService {
+    private static final Logger log = LoggerFactory.getLogger(RatingService.class);
+    private static final String RANKED_PARTICIPATIONS = """
+        SELECT g.id, g.datetime, p.player_id, p.score, p.victory
+        FROM games g JOIN participations p ON p.game_id = g.id
+        WHERE g.game_type = 'RANKED'
+        ORDER BY g.id
+        """;
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    private final PlayerRatingRepository playerRatingRepository;
+    private final GameArchive gameArchive;
+    private final ShardRouter shardRouter;
+    private final RatingPublisher ratingPublisher;
+    private final RatingProperties properties;
+    private final Glicko2 glicko2;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate writeTransaction;
+
+    // Pendant un recalcul, les parties terminées sont mises de côté puis rejouées s'il ne les a pas vues
+    private final ReentrantReadWriteLock recomputeLock = new ReentrantReadWriteLock();
+    private final Queue<SettledGame> deferred = new ConcurrentLinkedQueue<>();
+    private boolean recomputing;
+
+    private record SettledGame(Long gameId, List<ParticipationDTO> participations) {
+    }
+
+    public RatingService(PlayerRatingRepository playerRatingRepository, GameArchive gameArchive,
+            ShardRouter shardRouter, RatingPublisher ratingPublisher, RatingProperties properties,
+            DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.playerRatingRepository = playerRatingRepository;
+        this.gameArchive = gameArchive;
+        this.shardRouter = shardRouter;
+        this.ratingPublisher = ratingPublisher;
+        this.properties = properties;
+        this.glicko2 = new Glicko2(properties.getTau(), properties.getInitialDeviation());
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.getFetchSize());
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Appelé après le commit de la partie : il faut une transaction à part
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public static boolean isSettled(GameType gameType, List<ParticipationDTO> participations) {
+        return gameType == GameType.RANKED
+            && participations.size() >= 2
+            && participations.stream().allMatch(p -> p.getVictory() != null);
+    }
+
+    /**
+     * Rates the players of a game whose last result has just been committed.
+     */
+    public void rateSettledGame(Long gameId, List<ParticipationDTO> participations) {
+        List<PlayerRatingDTO> updated;
+        recomputeLock.readLock().lock();
+        try {
+            if (recomputing) {
+                deferred.add(new SettledGame(gameId, participations));
+                return;
+            }
+            updated = shardRouter.onMainShard(() -> writeTransaction.execute(status -> applyGame(gameId, participations)));
+        } catch (RuntimeException e) {
+            // La partie est déjà enregistrée : le prochain recalcul complet la prendra en compte
+            log.error("Failed to rate game {}", gameId, e);
+            return;
+        } finally {
+            recomputeLock.readLock().unlock();
+        }
+        ratingPublisher.enqueue(updated);
+    }
+
+    public Optional<PlayerRatingDTO> getRating(Long playerId) {
+        return shardRouter.onMainShard(() -> readOnlyTransaction.execute(status ->
+            playerRatingRepository.findById(playerId).map(this::ratingToDTO)));
+    }
+
+    public RatingRecomputeReportDTO recompute() {
+        recomputeLock.writeLock().lock();
+        try {
+            if (recomputing) {
+                throw new IllegalStateException("A rating recompute is already running");
+            }
+            recomputing = true;
+        } finally {
+            recomputeLock.writeLock().unlock();
+        }
+
+        long start = System.nanoTime();
+        RatingRecomputeReportDTO report = new RatingRecomputeReportDTO();
+        RatingReplay.Result result = null;
+        List<SettledGame> settledMeanwhile = new ArrayList<>();
+        try {
+            RatingReplay.Result replayed = replayHistory();
+            shardRouter.onMainShard(() -> writeTransaction.execute(status -> replaceRatings(replayed)));
+            // Les parties mises de côté ne sont couvertes qu'une fois les nouveaux classements enregistrés
+            result = replayed;
+
+            List<PlayerRatingDTO> ratings = new ArrayList<>();
+            for (int i = 0; i < result.playerIds().length; i++) {
+                if (result.games()[i] > 0) {
+                    ratings.add(ratingToDTO(result.playerIds()[i], result.ratings()[i], result.deviations()[i],
+                        result.games()[i]));
+                }
+            }
+            report.setPublished(ratingPublisher.publishAll(ratings));
+            report.setGames(result.replayedGameIds().length);
+            report.setParticipations(result.participations());
+            report.setPlayers(ratings.size());
+            report.setComponents(result.components());
+            report.setLargestComponent(result.largestComponent());
+        } finally {
+            recomputeLock.writeLock().lock();
+            try {
+                recomputing = false;
+                SettledGame game;
+                while ((game = deferred.poll()) != null) {
+                    settledMeanwhile.add(game);
+                }
+            } finally {
+                recomputeLock.writeLock().unlock();
+            }
+        }
+
+        for (SettledGame game : settledMeanwhile) {
+            if (result == null || !result.replayed(game.gameId())) {
+                rateSettledGame(game.gameId(), game.participations());
+            }
+        }
+        report.setMillis((System.nanoTime() - start) / 1_000_000);
+        return report;
+    }
+
+    private RatingReplay.Result replayHistory() {
+        RatingReplay replay = new RatingReplay(glicko2, properties.getInitialRating(),
+            properties.getInitialDeviation(), properties.getInitialVolatility());
+
+        // La base avant l'archive : une partie archivée entre les deux lectures est vue deux fois plutôt que pas du tout
+        shardRouter.onEachShard(shard -> {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(RANKED_PARTICIPATIONS, rs -> {
+                Timestamp datetime = rs.getTimestamp(2);
+                replay.add(rs.getLong(1), RatingReplay.toMicros(datetime.toLocalDateTime()), rs.getLong(3),
+                    rs.getObject(4, Integer.class), rs.getObject(5, Boolean.class));
+            }));
+            replay.endGame();
+        });
+        gameArchive.forEachGame((game, datetime) -> {
+            if (game.getGameType() != GameType.RANKED) return;
+            long micros = RatingReplay.toMicros(datetime);
+            for (ParticipationDTO participation : game.getParticipations()) {
+                replay.add(game.getId(), micros, participation.getPlayerId(), participation.getScore(),
+                    participation.getVictory());
+            }
+        });
+        return replay.replay(properties.getParallelism());
+    }
+
+    private int replaceRatings(RatingReplay.Result result) {
+        List<Integer> rated = new ArrayList<>();
+        for (int i = 0; i < result.playerIds().length; i++) {
+            if (result.games()[i] > 0) rated.add(i);
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("DELETE FROM rated_games");
+        jdbcTemplate.batchUpdate("INSERT INTO rated_games (game_id, rated_at) VALUES (?, ?)",
+            Arrays.stream(result.replayedGameIds()).boxed().toList(), INSERT_BATCH_SIZE, (ps, gameId) -> {
+                ps.setLong(1, gameId);
+                ps.setTimestamp(2, now);
+            });
+        jdbcTemplate.update("DELETE FROM player_ratings");
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO player_ratings (player_id, rating, deviation, volatility, games, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """, rated, INSERT_BATCH_SIZE, (ps, i) -> {
+                ps.setLong(1, result.playerIds()[i]);
+                ps.setDouble(2, result.ratings()[i]);
+                ps.setDouble(3, result.deviations()[i]);
+                ps.setDouble(4, result.volatilities()[i]);
+                ps.setInt(5, result.games()[i]);
+                ps.setTimestamp(6, now);
+            });
+        return rated.size();
+    }
+
+    private List<PlayerRatingDTO> applyGame(Long gameId, List<ParticipationDTO> participations) {
+        // Une partie dont le résultat est effacé puis remis n'est pas notée deux fois
+        int inserted = jdbcTemplate.update(
+            "INSERT INTO rated_games (game_id, rated_at) VALUES (?, now()) ON CONFLICT (game_id) DO NOTHING", gameId);
+        if (inserted == 0) {
+            return List.of();
+        }
+
+        List<Long> playerIds = participations.stream().map(ParticipationDTO::getPlayerId).distinct().sorted().toList();
+        for (Long playerId : playerIds) {
+            playerRatingRepository.insertIfAbsent(playerId, properties.getInitialRating(),
+                properties.getInitialDeviation(), properties.getInitialVolatility());
+        }
+        Map<Long, PlayerRating> ratings = new HashMap<>();
+        for (PlayerRating rating : playerRatingRepository.findAllByPlayerIdInOrderByPlayerIdAsc(playerIds)) {
+            ratings.put(rating.getPlayerId(), rating);
+        }
+
+        int k = participations.size();
+        double[] mu = new double[k];
+        double[] phi = new double[k];
+        double[] sigma = new double[k];
+        double[][] outcomes = new double[k][k];
+        for (int i = 0; i < k; i++) {
+            PlayerRating rating = ratings.get(participations.get(i).getPlayerId());
+            mu[i] = Glicko2.toMu(rating.getRating());
+            phi[i] = Glicko2.toPhi(rating.getDeviation());
+            sigma[i] = rating.getVolatility();
+            for (int j = 0; j < k; j++) {
+                if (j != i) {
+                    outcomes[i][j] = Glicko2.outcome(participations.get(i).getVictory(), scoreOf(participations.get(i)),
+                        participations.get(j).getVictory(), scoreOf(participations.get(j)), RatingReplay.NO_SCORE);
+                }
+            }
+        }
+
+        double[] newMu = new double[k];
+        double[] newPhi = new double[k];
+        double[] newSigma = new double[k];
+        glicko2.rateGame(k, mu, phi, sigma, outcomes, newMu, newPhi, newSigma);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<PlayerRatingDTO> updated = new ArrayList<>();
+        for (int i = 0; i < k; i++) {
+            PlayerRating rating = ratings.get(participations.get(i).getPlayerId());
+            rating.setRating(Glicko2.toRating(newMu[i]));
+            rating.setDeviation(Glicko2.toDeviation(newPhi[i]));
+            rating.setVolatility(newSigma[i]);
+            rating.setGames(rating.getGames() + 1);
+            rating.setUpdatedAt(now);
+            updated.add(ratingToDTO(rating));
+        }
+        return updated;
+    }
+
+    private static int scoreOf(ParticipationDTO participation) {
+        return participation.getScore() != null ? participation.getScore() : RatingReplay.NO_SCORE;
+    }
+
+    private PlayerRatingDTO ratingToDTO(PlayerRating rating) {
+        return ratingToDTO(rating.getPlayerId(), rating.getRating(), rating.getDeviation(), rating.getGames());
+    }
+
+    private PlayerRatingDTO ratingToDTO(long playerId, double rating, double deviation, int games) {
+        PlayerRatingDTO dto = new PlayerRatingDTO();
+        dto.setPlayerId(playerId);
+        dto.setRating(rating);
+        dto.setDeviation(deviation);
+        dto.setGames(games);
+        return dto;
+    }
+}
@@ -0,0 +1,45 @@
+package com.ludonexus.battleforge.service;
+
+import org.springframework.stereotype.Service;
+
+import com.ludonexus.battleforge.archive.GameArchive;
+import com.ludonexus.battleforge.concurrent.SingleFlight;
+import com.ludonexus.battleforge.dto.GameDTO;
+import com.ludonexus.battleforge.dto.ParticipationDTO;
+import com.ludonexus.battleforge.repository.ReactiveGameReadRepository;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of the GameService read methods. Writes stay on GameService.
+ * Single-game reads share the gameReads loads with the blocking endpoints.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveGameService {
+    private final ReactiveGameReadRepository reactiveGameReadRepository;
+    private final GameArchive gameArchive;
+    private final SingleFlight<Long, GameDTO> gameReads;
+
+    // Une partie absente échoue comme sur le chemin bloquant, dont les appelants peuvent rejoindre ce chargement
+    public Mono<GameDTO> getGameById(Long gameId) {
+        return Mono.fromFuture(() -> gameReads.loadAsync(gameId, () -> loadGame(gameId).toFuture()), true)
+            .onErrorResume(IllegalArgumentException.class, e -> Mono.empty());
+    }
+
+    public Flux<GameDTO> getAllGames() {
+        return reactiveGameReadRepository.findAllGames();
+    }
+
+    public Flux<ParticipationDTO> getParticipations(Long gameId) {
+        return getGameById(gameId).flatMapIterable(GameDTO::getParticipations);
+    }
+
+    private Mono<GameDTO> loadGame(Long gameId) {
+        return reactiveGameReadRepository.findGameById(gameId)
+            .switchIfEmpty(Mono.defer(() -> Mono.justOrEmpty(gameArchive.findGame(gameId))))
+            .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Game not found")));
+    }
+}
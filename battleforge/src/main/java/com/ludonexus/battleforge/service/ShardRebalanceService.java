@@ -0,0 +1,153 @@
+package com.ludonexus.battleforge.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ludonexus.battleforge.archive.GameArchive;
+import com.ludonexus.battleforge.dto.RebalanceReportDTO;
+import com.ludonexus.battleforge.model.GameType;
+import com.ludonexus.battleforge.shard.ShardRouter;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Moves every game that is not on the shard the ring gives it, with its participations and
+ * its share of player_stats. Runs online: each game is locked on its source shard, copied and
+ * committed on its target, then deleted from the source, so it is always readable somewhere.
+ */
+@Service
+@RequiredArgsConstructor
+public class ShardRebalanceService {
+    private static final int BATCH_SIZE = 500;
+
+    private final ShardRouter shardRouter;
+    private final GameArchive gameArchive;
+
+    public RebalanceReportDTO rebalance() {
+        if (!shardRouter.isEnabled()) {
+            throw new IllegalStateException("Sharding is not enabled");
+        }
+
+        Map<String, JdbcTemplate> jdbcTemplates = new HashMap<>();
+        Map<String, TransactionTemplate> transactionTemplates = new HashMap<>();
+        for (String shard : shardRouter.getShards()) {
+            jdbcTemplates.put(shard, new JdbcTemplate(shardRouter.getDataSource(shard)));
+            transactionTemplates.put(shard, new TransactionTemplate(
+                new DataSourceTransactionManager(shardRouter.getDataSource(shard))));
+        }
+
+        RebalanceReportDTO report = new RebalanceReportDTO();
+        for (String source : shardRouter.getShards()) {
+            long lastId = 0;
+            List<Long> gameIds;
+            do {
+                gameIds = jdbcTemplates.get(source).queryForList(
+                    "SELECT id FROM games WHERE id > ? ORDER BY id LIMIT ?", Long.class, lastId, BATCH_SIZE);
+                for (Long gameId : gameIds) {
+                    report.setScannedGames(report.getScannedGames() + 1);
+                    String target = shardRouter.ownerOf(gameId);
+                    if (target.equals(source)) continue;
+
+                    int moved = transactionTemplates.get(source).execute(status -> moveGame(gameId,
+                        jdbcTemplates.get(source), jdbcTemplates.get(target), transactionTemplates.get(target)));
+                    if (moved >= 0) {
+                        report.setMovedGames(report.getMovedGames() + 1);
+                        report.setMovedParticipations(report.getMovedParticipations() + moved);
+                    }
+                }
+                if (!gameIds.isEmpty()) {
+                    lastId = gameIds.get(gameIds.size() - 1);
+                }
+            } while (gameIds.size() == BATCH_SIZE);
+        }
+        return report;
+    }
+
+    // Dans la transaction du shard source : les écritures concurrentes sur la partie attendent la fin du déplacement
+    private int moveGame(long gameId, JdbcTemplate source, JdbcTemplate target, TransactionTemplate targetTransaction) {
+        List<Map<String, Object>> games = source.queryForList(
+            "SELECT id, datetime, game_type, max_score, host_id FROM games WHERE id = ? FOR UPDATE", gameId);
+        if (games.isEmpty()) {
+            return -1;
+        }
+        Map<String, Object> game = games.get(0);
+        List<Map<String, Object>> participations = source.queryForList(
+            "SELECT player_id, score, victory FROM participations WHERE game_id = ? FOR UPDATE", gameId);
+        String gameType = (String) game.get("game_type");
+
+        targetTransaction.executeWithoutResult(status -> {
+            int inserted = target.update(
+                "INSERT INTO games (id, datetime, game_type, max_score, host_id) VALUES (?, ?, ?, ?, ?) ON CONFLICT (id) DO NOTHING",
+                gameId, game.get("datetime"), gameType, game.get("max_score"), game.get("host_id"));
+            // Déjà copiée par un passage interrompu avant la suppression côté source
+            if (inserted == 0) return;
+
+            target.batchUpdate(
+                "INSERT INTO participations (game_id, player_id, score, victory) VALUES (?, ?, ?, ?)",
+                participations, participations.size(), (ps, p) -> {
+                    ps.setLong(1, gameId);
+                    ps.setObject(2, p.get("player_id"));
+                    ps.setObject(3, p.get("score"));
+                    ps.setObject(4, p.get("victory"));
+                });
+            if (gameType != null) {
+                target.batchUpdate("""
+                    INSERT INTO player_stats (player_id, game_type, games_played, wins, scored_games, total_score, best_score)
+                    VALUES (?, ?, 1, ?, ?, ?, ?)
+                    ON CONFLICT (player_id, game_type) DO UPDATE SET
+                        games_played = player_stats.games_played + 1,
+                        wins = player_stats.wins + EXCLUDED.wins,
+                        scored_games = player_stats.scored_games + EXCLUDED.scored_games,
+                        total_score = player_stats.total_score + EXCLUDED.total_score,
+                        best_score = GREATEST(player_stats.best_score, EXCLUDED.best_score)
+                    """, participations, participations.size(), (ps, p) -> {
+                        Integer score = (Integer) p.get("score");
+                        ps.setObject(1, p.get("player_id"));
+                        ps.setString(2, gameType);
+                        ps.setInt(3, Boolean.TRUE.equals(p.get("victory")) ? 1 : 0);
+                        ps.setInt(4, score != null ? 1 : 0);
+                        ps.setLong(5, score != null ? score : 0);
+                        ps.setObject(6, score);
+                    });
+            }
+        });
+
+        source.update("DELETE FROM participations WHERE game_id = ?", gameId);
+        source.update("DELETE FROM games WHERE id = ?", gameId);
+        if (gameType != null) {
+            for (Map<String, Object> p : participations) {
+                Long playerId = ((Number) p.get("player_id")).longValue();
+                Integer score = (Integer) p.get("score");
+                source.update("""
+                    UPDATE player_stats SET
+                        games_played = GREATEST(games_played - 1, 0),
+                        wins = GREATEST(wins - ?, 0),
+                        scored_games = GREATEST(scored_games - ?, 0),
+                        total_score = total_score - ?,
+                        best_score = ?
+                    WHERE player_id = ? AND game_type = ?
+                    """,
+                    Boolean.TRUE.equals(p.get("victory")) ? 1 : 0, score != null ? 1 : 0, score != null ? score : 0,
+                    findBestScore(source, playerId, gameType), playerId, gameType);
+            }
+        }
+        return participations.size();
+    }
+
+    private Integer findBestScore(JdbcTemplate source, Long playerId, String gameType) {
+        Integer live = source.queryForObject("""
+            SELECT MAX(p.score) FROM participations p JOIN games g ON g.id = p.game_id
+            WHERE p.player_id = ? AND g.game_type = ?
+            """, Integer.class, playerId, gameType);
+        Integer archived = gameArchive.getArchivedBestScore(playerId, GameType.valueOf(gameType));
+        if (live == null) return archived;
+        if (archived == null) return live;
+        return Math.max(live, archived);
+    }
+}
@@ -0,0 +1,48 @@
+package com.ludonexus.battleforge.shard;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Consistent hash ring with virtual nodes: adding or removing a shard only moves the keys
+ * of the ring segments it takes over or gives back.
+ */
+public class ConsistentHashRing {
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+
+    public ConsistentHashRing(Collection<String> shards, int virtualNodes) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        for (String shard : shards) {
+            for (int v = 0; v < virtualNodes; v++) {
+                ring.put(hash(shard + "#" + v), shard);
+            }
+        }
+    }
+
+    public String shardFor(long key) {
+        Map.Entry<Long, String> owner = ring.ceilingEntry(mix(key));
+        return owner != null ? owner.getValue() : ring.firstEntry().getValue();
+    }
+
+    private static long hash(String value) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    // Finaliseur de MurmurHash3 : les ids consécutifs sont répartis uniformément sur l'anneau
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
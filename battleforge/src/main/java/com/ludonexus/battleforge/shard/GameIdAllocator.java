@@ -0,0 +1,40 @@
+package com.ludonexus.battleforge.shard;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * With sharding, game ids are taken from the games_id_seq sequence of the main shard before the
+ * insert, and the transaction is bound to the shard owning the new game as soon as its id is
+ * allocated. Hibernate allocates it when the game is persisted, before the game and its
+ * participations (identity ids, inserted right away) are inserted. Without sharding the database
+ * assigns them on insert.
+ */
+@Component
+public class GameIdAllocator {
+    // Ne dépend que des DataSources : créé pendant le démarrage d'Hibernate, avant le gestionnaire de transactions
+    private final JdbcTemplate mainJdbcTemplate;
+    private final ObjectProvider<ShardRouter> shardRouter;
+
+    public GameIdAllocator(ObjectProvider<ShardDataSources> shardDataSources, ObjectProvider<ShardRouter> shardRouter) {
+        ShardDataSources dataSources = shardDataSources.getIfAvailable();
+        this.mainJdbcTemplate = dataSources != null
+            ? new JdbcTemplate(dataSources.asMap().get(dataSources.mainShard()))
+            : null;
+        this.shardRouter = shardRouter;
+    }
+
+    public boolean isEnabled() {
+        return mainJdbcTemplate != null;
+    }
+
+    public long nextGameId() {
+        if (mainJdbcTemplate == null) {
+            throw new IllegalStateException("Game ids are only allocated before the insert with sharding");
+        }
+        long gameId = mainJdbcTemplate.queryForObject("SELECT nextval('games_id_seq')", Long.class);
+        shardRouter.getObject().bindNewGame(gameId);
+        return gameId;
+    }
+}
@@ -0,0 +1,24 @@
+package com.ludonexus.battleforge.shard;
+
+/**
+ * Shard the current thread works on. Read by {@link ShardRoutingDataSource} when a transaction
+ * fetches its connection, i.e. at its first statement, so it must be set before that.
+ */
+public final class ShardContext {
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    public static void set(String shard) {
+        CURRENT.set(shard);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,30 @@
+package com.ludonexus.battleforge.shard;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * One connection pool per shard, in configuration order (the first one being the main shard).
+ */
+public class ShardDataSources implements AutoCloseable {
+    private final Map<String, HikariDataSource> dataSources;
+
+    public ShardDataSources(Map<String, HikariDataSource> dataSources) {
+        this.dataSources = new LinkedHashMap<>(dataSources);
+    }
+
+    public Map<String, HikariDataSource> asMap() {
+        return dataSources;
+    }
+
+    public String mainShard() {
+        return dataSources.keySet().iterator().next();
+    }
+
+    @Override
+    public void close() {
+        dataSources.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,45 @@
+package com.ludonexus.battleforge.shard;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.core.Disposable;
+
+/**
+ * One R2DBC client per shard for the reactive read path, in configuration order
+ * (the first one being the main shard).
+ */
+public class ShardDatabaseClients implements AutoCloseable {
+    private final Map<String, DatabaseClient> clients = new LinkedHashMap<>();
+    private final List<ConnectionFactory> connectionFactories;
+
+    public ShardDatabaseClients(Map<String, ConnectionFactory> connectionFactories) {
+        connectionFactories.forEach((shard, connectionFactory) -> clients.put(shard, DatabaseClient.create(connectionFactory)));
+        this.connectionFactories = List.copyOf(connectionFactories.values());
+    }
+
+    public DatabaseClient get(String shard) {
+        DatabaseClient client = clients.get(shard);
+        if (client == null) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        return client;
+    }
+
+    public Map<String, DatabaseClient> asMap() {
+        return clients;
+    }
+
+    @Override
+    public void close() {
+        for (ConnectionFactory connectionFactory : connectionFactories) {
+            if (connectionFactory instanceof Disposable pool) {
+                pool.dispose();
+            }
+        }
+    }
+}
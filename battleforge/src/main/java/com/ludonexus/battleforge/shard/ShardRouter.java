@@ -0,0 +1,235 @@
+package com.ludonexus.battleforge.shard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ludonexus.battleforge.config.ShardingProperties;
+import com.ludonexus.battleforge.profiling.EndpointContext;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Places games (and their participations) on shards by consistent hashing of the game id.
+ * When sharding is not configured every method falls back to the single database,
+ * in the caller's transaction.
+ */
+@Component
+public class ShardRouter {
+    private final ShardDataSources shardDataSources;
+    private final ConsistentHashRing ring;
+    private final ConsistentHashRing previousRing;
+    private final TransactionTemplate readTemplate;
+    private final TransactionTemplate writeTemplate;
+    private final ExecutorService scatterExecutor;
+
+    public ShardRouter(ShardingProperties properties, ObjectProvider<ShardDataSources> shardDataSources,
+            PlatformTransactionManager transactionManager) {
+        this.shardDataSources = shardDataSources.getIfAvailable();
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+
+        if (this.shardDataSources == null) {
+            this.ring = null;
+            this.previousRing = null;
+            this.scatterExecutor = null;
+        } else {
+            List<String> shards = getShards();
+            this.ring = new ConsistentHashRing(shards, properties.getVirtualNodes());
+            List<String> previousShards = properties.getPreviousShards();
+            if (!shards.containsAll(previousShards)) {
+                throw new IllegalArgumentException("Unknown shard in previous-shards: " + previousShards);
+            }
+            this.previousRing = previousShards.isEmpty() || previousShards.equals(shards)
+                ? null
+                : new ConsistentHashRing(previousShards, properties.getVirtualNodes());
+            this.scatterExecutor = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(properties.getScatterThreads(), shards.size())));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return shardDataSources != null;
+    }
+
+    public List<String> getShards() {
+        return isEnabled() ? List.copyOf(shardDataSources.asMap().keySet()) : List.of();
+    }
+
+    public DataSource getDataSource(String shard) {
+        DataSource dataSource = shardDataSources.asMap().get(shard);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        return dataSource;
+    }
+
+    public boolean isRebalancing() {
+        return previousRing != null;
+    }
+
+    public String ownerOf(long gameId) {
+        return ring.shardFor(gameId);
+    }
+
+    public String previousOwnerOf(long gameId) {
+        return previousRing != null ? previousRing.shardFor(gameId) : ring.shardFor(gameId);
+    }
+
+    /**
+     * Shard currently holding the game. While rebalancing, a game not yet moved
+     * is still on the shard the previous ring gave it.
+     */
+    public String locate(long gameId) {
+        String owner = ownerOf(gameId);
+        String previousOwner = previousOwnerOf(gameId);
+        if (owner.equals(previousOwner)) {
+            return owner;
+        }
+        Boolean moved = new JdbcTemplate(getDataSource(owner))
+            .queryForObject("SELECT EXISTS (SELECT 1 FROM games WHERE id = ?)", Boolean.class, gameId);
+        return Boolean.TRUE.equals(moved) ? owner : previousOwner;
+    }
+
+    /**
+     * Binds the current transaction to the shard of an existing game.
+     * Must be called in a transaction, before its first statement.
+     */
+    public void bindGame(Long gameId) {
+        if (isEnabled() && gameId != null) {
+            bind(locate(gameId));
+        }
+    }
+
+    // Pour une partie pas encore insérée : directement sur le nouvel anneau
+    public void bindNewGame(Long gameId) {
+        if (isEnabled() && gameId != null) {
+            bind(ownerOf(gameId));
+        }
+    }
+
+    private void bind(String shard) {
+        // Sans transaction rien ne retirerait le shard du thread, qui le garderait pour la requête suivante
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Binding to shard " + shard + " requires a transaction");
+        }
+        String bound = ShardContext.current();
+        if (bound != null) {
+            if (!bound.equals(shard)) {
+                throw new IllegalStateException("Transaction already bound to shard " + bound + ", cannot use " + shard);
+            }
+            return;
+        }
+        ShardContext.set(shard);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                ShardContext.clear();
+            }
+        });
+    }
+
+    /**
+     * Runs the query on every shard in parallel, each in its own transaction, and concatenates
+     * the results. Without sharding the query runs once in the caller's transaction.
+     * Writes are not atomic across shards.
+     */
+    public <T> List<T> scatterGather(Function<String, List<T>> query, boolean readOnly) {
+        if (!isEnabled()) {
+            return query.apply(null);
+        }
+
+        TransactionTemplate template = readOnly ? readTemplate : writeTemplate;
+        List<Future<List<T>>> futures = new ArrayList<>();
+        for (String shard : getShards()) {
+            futures.add(scatterExecutor.submit(EndpointContext.propagate(() -> {
+                ShardContext.set(shard);
+                try {
+                    return template.execute(status -> query.apply(shard));
+                } finally {
+                    ShardContext.clear();
+                }
+            })));
+        }
+
+        List<T> results = new ArrayList<>();
+        for (Future<List<T>> future : futures) {
+            try {
+                results.addAll(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted during scatter-gather", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException("Scatter-gather failed", e.getCause());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Runs the task on the main shard, whatever shard the calling thread is bound to
+     * (e.g. after the commit of a game's transaction). The task must open its own transaction.
+     */
+    public <T> T onMainShard(Supplier<T> task) {
+        if (!isEnabled()) {
+            return task.get();
+        }
+        String bound = ShardContext.current();
+        ShardContext.set(shardDataSources.mainShard());
+        try {
+            return task.get();
+        } finally {
+            if (bound != null) {
+                ShardContext.set(bound);
+            } else {
+                ShardContext.clear();
+            }
+        }
+    }
+
+    /**
+     * Runs the task once per shard, one after the other, on the calling thread.
+     * The task must open its own transactions.
+     */
+    public void onEachShard(Consumer<String> task) {
+        if (!isEnabled()) {
+            task.accept(null);
+            return;
+        }
+        for (String shard : getShards()) {
+            ShardContext.set(shard);
+            try {
+                task.accept(shard);
+            } finally {
+                ShardContext.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.ludonexus.battleforge.shard;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes to the shard bound in {@link ShardContext}, the main shard by default.
+ * Must sit behind a LazyConnectionDataSourceProxy so the lookup happens at the first statement.
+ * A transaction that reaches its first statement unbound stays on the main shard: binding it
+ * to another shard afterwards fails instead of silently using the wrong connection.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+    private final String mainShard;
+
+    public ShardRoutingDataSource(String mainShard) {
+        this.mainShard = mainShard;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String shard = ShardContext.current();
+        if (shard == null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            shard = mainShard;
+            ShardContext.set(shard);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    ShardContext.clear();
+                }
+            });
+        }
+        return shard;
+    }
+}
@@ -0,0 +1,288 @@
+package com.ludonexus.battleforge.archive;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.ludonexus.battleforge.dto.GameDTO;
+import com.ludonexus.battleforge.dto.ParticipationDTO;
+import com.ludonexus.battleforge.model.Game;
+import com.ludonexus.battleforge.model.GameType;
+import com.ludonexus.battleforge.model.Participation;
+
+class ArchiveSegmentTest {
+    private static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 12, 0, 0, 123_456_000);
+
+    @TempDir
+    Path directory;
+
+    // Plus d'un bloc, le dernier incomplet
+    private final int gameCount = 2 * ArchiveSegmentWriter.BLOCK_SIZE + 10;
+    private final List<Game> games = new ArrayList<>();
+    private final Map<Long, List<Participation>> participations = new HashMap<>();
+
+    ArchiveSegmentTest() {
+        for (int i = 0; i < gameCount; i++) {
+            Game game = new Game();
+            game.setId(10L + 2 * i);
+            game.setDatetime(START.plusMinutes(i));
+            game.setGameType(i % 7 == 0 ? null : GameType.values()[i % GameType.values().length]);
+            game.setMaxScore(100);
+            game.setHostId(i % 5 == 0 ? null : 1000L + i % 3);
+            games.add(game);
+
+            List<Participation> gameParticipations = new ArrayList<>();
+            for (int p = 0; p < i % 4; p++) {
+                Participation participation = new Participation();
+                participation.setGame(game);
+                participation.setPlayerId(1000L + p);
+                participation.setScore(p == 2 ? null : i % 50 + p);
+                participation.setVictory(p == 1 ? null : p == 0);
+                gameParticipations.add(participation);
+            }
+            participations.put(game.getId(), gameParticipations);
+        }
+    }
+
+    @Test
+    void findGameReadsBackEveryGame() throws IOException {
+        Path file = directory.resolve("segment.lns");
+        ArchiveSegmentWriter.write(file, games, participations);
+
+        try (ArchiveSegment segment = new ArchiveSegment(file)) {
+            assertEquals(gameCount, segment.getGameCount());
+            assertEquals(10L, segment.getMinGameId());
+            assertEquals(10L + 2 * (gameCount - 1), segment.getMaxGameId());
+
+            for (Game game : games) {
+                GameDTO archived = segment.findGame(game.getId()).orElseThrow();
+                assertGame(game, archived);
+            }
+            assertTrue(segment.findGame(11L).isEmpty());
+            assertTrue(segment.findGame(9L).isEmpty());
+            assertTrue(segment.findGame(segment.getMaxGameId() + 2).isEmpty());
+        }
+    }
+
+    @Test
+    void forEachGameVisitsGamesInIdOrder() throws IOException {
+        Path file = directory.resolve("segment.lns");
+        ArchiveSegmentWriter.write(file, games, participations);
+
+        List<Long> ids = new ArrayList<>();
+        try (ArchiveSegment segment = new ArchiveSegment(file)) {
+            segment.forEachGame((archived, datetime) -> {
+                Game game = games.get(ids.size());
+                assertGame(game, archived);
+                assertEquals(game.getDatetime(), datetime);
+                ids.add(archived.getId());
+            });
+        }
+        assertEquals(games.stream().map(Game::getId).toList(), ids);
+    }
+
+    @Test
+    void playerSummariesAddUpScores() throws IOException {
+        Path file = directory.resolve("segment.lns");
+        ArchiveSegmentWriter.write(file, games, participations);
+
+        Map<Long, Long> totals = new HashMap<>();
+        Map<Long, int[]> bests = new HashMap<>();
+        for (Game game : games) {
+            for (Participation p : participations.get(game.getId())) {
+                if (p.getScore() == null) continue;
+                totals.merge(p.getPlayerId(), (long) p.getScore(), Long::sum);
+                int[] best = bests.computeIfAbsent(p.getPlayerId(), id -> newBests());
+                if (game.getGameType() != null) {
+                    int ordinal = game.getGameType().ordinal();
+                    best[ordinal] = Math.max(best[ordinal], p.getScore());
+                }
+            }
+        }
+
+        Map<Long, Long> archivedTotals = new HashMap<>();
+        try (ArchiveSegment segment = new ArchiveSegment(file)) {
+            segment.forEachPlayerSummary((playerId, totalScore, bestScores) -> {
+                archivedTotals.put(playerId, totalScore);
+                assertArrayEquals(bests.get(playerId), bestScores);
+            });
+        }
+        assertEquals(totals, archivedTotals);
+    }
+
+    @Test
+    void emptySegment() throws IOException {
+        Path file = directory.resolve("empty.lns");
+        ArchiveSegmentWriter.write(file, List.of(), Map.of());
+
+        try (ArchiveSegment segment = new ArchiveSegment(file)) {
+            assertEquals(0, segment.getGameCount());
+            assertTrue(segment.findGame(10L).isEmpty());
+            segment.forEachGame((game, datetime) -> fail("No game expected"));
+        }
+    }
+
+    @Test
+    void writeRefusesToOverwriteASegment() throws IOException {
+        Path file = directory.resolve("segment.lns");
+        ArchiveSegmentWriter.write(file, games, participations);
+
+        assertThrows(IOException.class, () -> ArchiveSegmentWriter.write(file, games, participations));
+    }
+
+    @Test
+    void rejectsAFileThatIsNotASegment() throws IOException {
+        Path file = directory.resolve("other.lns");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(64));
+        }
+
+        assertThrows(IOException.class, () -> new ArchiveSegment(file));
+    }
+
+    @Test
+    void truncatedBlockFailsInsteadOfLooping() throws IOException {
+        Path file = directory.resolve("segment.lns");
+        ArchiveSegmentWriter.write(file, games, participations);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 100);
+        }
+
+        try (ArchiveSegment segment = new ArchiveSegment(file)) {
+            long lastId = games.get(gameCount - 1).getId();
+            assertThrows(IllegalStateException.class, () -> segment.findGame(lastId));
+            // Les autres blocs restent lisibles
+            assertTrue(segment.findGame(games.get(0).getId()).isPresent());
+        }
+    }
+
+    @Test
+    void corruptedBlockFails() throws IOException {
+        Path file = directory.resolve("segment.lns");
+        ArchiveSegmentWriter.write(file, games, participations);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer garbage = ByteBuffer.allocate(64);
+            while (garbage.hasRemaining()) garbage.put((byte) 0x5A);
+            garbage.flip();
+            channel.write(garbage, channel.size() - 200);
+        }
+
+        try (ArchiveSegment segment = new ArchiveSegment(file)) {
+            long lastId = games.get(gameCount - 1).getId();
+            assertThrows(IllegalStateException.class, () -> segment.findGame(lastId));
+        }
+    }
+
+    @Test
+    void rollsOverToANewSegmentAtTheSizeLimit() throws IOException {
+        Path single = directory.resolve("single.lns");
+        ArchiveSegmentWriter.write(single, games.subList(0, ArchiveSegmentWriter.BLOCK_SIZE), participations);
+        // Un bloc plein tient dans la limite, deux non
+        long maxSize = Files.size(single) * 3 / 2;
+
+        List<ArchiveSegment> segments = new ArrayList<>();
+        try {
+            int written = 0;
+            while (written < gameCount) {
+                Path file = directory.resolve("segment-" + segments.size() + ".lns");
+                int count = ArchiveSegmentWriter.write(file, games.subList(written, gameCount), participations, maxSize);
+                assertTrue(Files.size(file) <= maxSize);
+                segments.add(new ArchiveSegment(file));
+                written += count;
+            }
+
+            // Le dernier bloc, incomplet, tient avec le deuxième
+            assertEquals(List.of(ArchiveSegmentWriter.BLOCK_SIZE, gameCount - ArchiveSegmentWriter.BLOCK_SIZE),
+                segments.stream().map(ArchiveSegment::getGameCount).toList());
+            for (Game game : games) {
+                ArchiveSegment segment = segments.stream()
+                    .filter(s -> game.getId() >= s.getMinGameId() && game.getId() <= s.getMaxGameId())
+                    .findFirst().orElseThrow();
+                assertGame(game, segment.findGame(game.getId()).orElseThrow());
+            }
+
+            // Chaque segment ne résume que ses propres parties
+            Map<Long, Long> archivedTotals = new HashMap<>();
+            for (ArchiveSegment segment : segments) {
+                segment.forEachPlayerSummary((playerId, totalScore, bestScores) ->
+                    archivedTotals.merge(playerId, totalScore, Long::sum));
+            }
+            Map<Long, Long> totals = new HashMap<>();
+            for (List<Participation> gameParticipations : participations.values()) {
+                for (Participation p : gameParticipations) {
+                    if (p.getScore() != null) totals.merge(p.getPlayerId(), (long) p.getScore(), Long::sum);
+                }
+            }
+            assertEquals(totals, archivedTotals);
+        } finally {
+            for (ArchiveSegment segment : segments) {
+                segment.close();
+            }
+        }
+    }
+
+    @Test
+    void refusesABlockLargerThanTheLimit() {
+        Path file = directory.resolve("segment.lns");
+        assertThrows(IOException.class, () -> ArchiveSegmentWriter.write(file, games, participations, 100));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void rejectsAFileOverTheSizeLimit() throws IOException {
+        Path file = directory.resolve("huge.lns");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            // Fichier creux : seul le dernier octet est écrit
+            channel.write(ByteBuffer.allocate(1), ArchiveSegmentWriter.MAX_SEGMENT_SIZE);
+        }
+
+        assertThrows(IOException.class, () -> new ArchiveSegment(file));
+    }
+
+    @Test
+    void closedSegmentRefusesReads() throws IOException {
+        Path file = directory.resolve("segment.lns");
+        ArchiveSegmentWriter.write(file, games, participations);
+        ArchiveSegment segment = new ArchiveSegment(file);
+        segment.close();
+
+        assertThrows(IllegalStateException.class, () -> segment.findGame(games.get(0).getId()));
+        Files.delete(file);
+    }
+
+    private void assertGame(Game game, GameDTO archived) {
+        assertEquals(game.getId(), archived.getId());
+        assertEquals(game.getGameType(), archived.getGameType());
+        assertEquals(game.getHostId(), archived.getHostId());
+
+        List<Participation> expected = participations.get(game.getId());
+        List<ParticipationDTO> actual = archived.getParticipations();
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(game.getId(), actual.get(i).getGameId());
+            assertEquals(expected.get(i).getPlayerId(), actual.get(i).getPlayerId());
+            assertEquals(expected.get(i).getScore(), actual.get(i).getScore());
+            assertEquals(expected.get(i).getVictory(), actual.get(i).getVictory());
+        }
+    }
+
+    private static int[] newBests() {
+        int[] bests = new int[GameType.values().length];
+        Arrays.fill(bests, ArchiveSegmentWriter.NULL_INT);
+        return bests;
+    }
+}
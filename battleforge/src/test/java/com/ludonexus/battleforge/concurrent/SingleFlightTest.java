@@ -0,0 +1,121 @@
+package com.ludonexus.battleforge.concurrent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    @Test
+    void asyncCallersShareTheLoadInProgress() {
+        SingleFlight<Long, String> flight = new SingleFlight<>("games", 2, true);
+        CompletableFuture<String> load = new CompletableFuture<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<String> first = flight.loadAsync(1L, () -> {
+            loads.incrementAndGet();
+            return load;
+        });
+        CompletableFuture<String> second = flight.loadAsync(1L, () -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        assertFalse(first.isDone());
+        assertEquals(1, flight.getInFlight());
+
+        load.complete("game 1");
+
+        assertEquals("game 1", first.join());
+        assertEquals("game 1", second.join());
+        assertEquals(1, loads.get());
+        assertEquals(1, flight.getCoalesced());
+        assertEquals(0, flight.getInFlight());
+        // Rien n'est gardé une fois le chargement terminé
+        assertEquals("game 1 again", flight.loadAsync(1L, () -> CompletableFuture.completedFuture("game 1 again")).join());
+    }
+
+    @Test
+    void blockingCallersJoinAnAsyncLoad() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>("games", 2, true);
+        CompletableFuture<String> load = new CompletableFuture<>();
+        flight.loadAsync(1L, () -> load);
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<String> blocking = executor.submit(() -> flight.load(1L, () -> "not shared"));
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                while (flight.getCoalesced() == 0) Thread.onSpinWait();
+            });
+            load.complete("game 1");
+            assertEquals("game 1", blocking.get());
+        }
+    }
+
+    @Test
+    void asyncCallersJoinABlockingLoad() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>("games", 2, true);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<String> blocking = executor.submit(() -> flight.load(1L, () -> {
+                loading.countDown();
+                await(release);
+                return "game 1";
+            }));
+            loading.await();
+            CompletableFuture<String> async = flight.loadAsync(1L, () -> CompletableFuture.completedFuture("not shared"));
+            assertFalse(async.isDone());
+
+            release.countDown();
+
+            assertEquals("game 1", blocking.get());
+            assertEquals("game 1", async.get());
+        }
+    }
+
+    @Test
+    void failuresAreSharedAndNotKept() {
+        SingleFlight<Long, String> flight = new SingleFlight<>("games", 2, true);
+        CompletableFuture<String> load = new CompletableFuture<>();
+        CompletableFuture<String> first = flight.loadAsync(1L, () -> load);
+        CompletableFuture<String> second = flight.loadAsync(1L, () -> CompletableFuture.completedFuture("other"));
+
+        load.completeExceptionally(new IllegalArgumentException("Game not found"));
+
+        assertInstanceOf(IllegalArgumentException.class, assertThrows(CompletionException.class, first::join).getCause());
+        assertInstanceOf(IllegalArgumentException.class, assertThrows(CompletionException.class, second::join).getCause());
+        assertThrows(IllegalArgumentException.class, () -> flight.load(1L, () -> {
+            throw new IllegalArgumentException("Game not found");
+        }));
+        assertEquals(0, flight.getInFlight());
+    }
+
+    @Test
+    void disabledFlightCallsTheLoaderEveryTime() {
+        SingleFlight<Long, String> flight = new SingleFlight<>("games", 2, false);
+        CompletableFuture<String> load = new CompletableFuture<>();
+
+        assertSame(load, flight.loadAsync(1L, () -> load));
+        assertEquals("direct", flight.loadAsync(1L, () -> CompletableFuture.completedFuture("direct")).join());
+        assertEquals(2, flight.getLoads());
+        assertEquals(0, flight.getCoalesced());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.ludonexus.battleforge.controller;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load comparison of the blocking and reactive game read endpoints, on the same running
+ * BattleForge instance so both paths share the hardware, the database and the Tomcat pool.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.ludonexus.battleforge.controller.ReadPathLoadComparison
+ *   -Dexec.args="http://localhost:8081 gameId concurrency seconds"
+ */
+public class ReadPathLoadComparison {
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8081";
+        long gameId = args.length > 1 ? Long.parseLong(args[1]) : 1L;
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+
+        HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+        for (String path : List.of("/api/games/" + gameId, "/api/reactive/games/" + gameId)) {
+            run(client, URI.create(baseUrl + path), concurrency, Duration.ofSeconds(5)); // échauffement
+            run(client, URI.create(baseUrl + path), concurrency, Duration.ofSeconds(seconds)).print(path);
+        }
+    }
+
+    private static Result run(HttpClient client, URI uri, int concurrency, Duration duration) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<long[]> latenciesPerWorker = new ArrayList<>();
+        AtomicInteger errors = new AtomicInteger();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                long[] latencies = new long[1 << 16];
+                latenciesPerWorker.add(latencies);
+                workers.submit(() -> {
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) errors.incrementAndGet();
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (count < latencies.length - 1) latencies[++count] = System.nanoTime() - start;
+                    }
+                    latencies[0] = count;
+                    return null;
+                });
+            }
+        }
+
+        int total = 0;
+        for (long[] latencies : latenciesPerWorker) total += (int) latencies[0];
+        long[] all = new long[total];
+        int i = 0;
+        for (long[] latencies : latenciesPerWorker) {
+            System.arraycopy(latencies, 1, all, i, (int) latencies[0]);
+            i += (int) latencies[0];
+        }
+        Arrays.sort(all);
+        return new Result(total, errors.get(), duration, all);
+    }
+
+    private record Result(int requests, int errors, Duration duration, long[] sortedLatencies) {
+        void print(String path) {
+            System.out.printf("%-30s %8.0f req/s  errors=%d  p50=%.1f ms  p99=%.1f ms  max=%.1f ms%n",
+                path, requests / (duration.toMillis() / 1000.0), errors,
+                percentile(0.50), percentile(0.99), percentile(1.0));
+        }
+
+        double percentile(double p) {
+            if (sortedLatencies.length == 0) return 0;
+            return sortedLatencies[(int) Math.min(sortedLatencies.length - 1, Math.floor(p * sortedLatencies.length))] / 1e6;
+        }
+    }
+}
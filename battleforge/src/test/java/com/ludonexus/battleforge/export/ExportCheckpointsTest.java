@@ -0,0 +1,119 @@
+package com.ludonexus.battleforge.export;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class ExportCheckpointsTest {
+    private static final Duration WINDOW = Duration.ofMinutes(5);
+    private static final Duration INTERVAL = Duration.ofMinutes(1);
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    // Un id est alloué au début de la transaction, la ligne n'est visible qu'à son commit
+    private record Row(long id, LocalDateTime allocatedAt, LocalDateTime committedAt) {
+    }
+
+    private final List<Row> rows = new ArrayList<>();
+    private final ExportCheckpoints checkpoints = new ExportCheckpoints(WINDOW);
+
+    ExportCheckpointsTest() {
+        Random random = new Random(42);
+        LocalDateTime at = START;
+        for (long id = 1; at.isBefore(START.plusDays(3)); id++) {
+            at = at.plusSeconds(1 + random.nextInt(20));
+            // Transactions plus courtes que la fenêtre de sécurité, certaines proches de la limite
+            rows.add(new Row(id, at, at.plusSeconds(random.nextInt((int) WINDOW.toSeconds()))));
+        }
+    }
+
+    @Test
+    void consecutiveRunsOnlyRepeatTheRowsInsideTheWindow() {
+        LocalDateTime firstRun = START.plusDays(1).plusHours(2);
+        LocalDateTime secondRun = firstRun.plusDays(1);
+        LocalDateTime thirdRun = secondRun.plusDays(1);
+        LocalDateTime clock = START;
+
+        clock = recordCheckpointsUntil(clock, firstRun);
+        Run first = run(0, firstRun);
+        clock = recordCheckpointsUntil(clock, secondRun);
+        Run second = run(first.nextStart(), secondRun);
+        recordCheckpointsUntil(clock, thirdRun);
+        Run third = run(second.nextStart(), thirdRun);
+
+        // Aucune ligne validée avant un export n'est perdue
+        Set<Long> exported = new HashSet<>(first.ids());
+        exported.addAll(second.ids());
+        exported.addAll(third.ids());
+        for (Row row : rows) {
+            if (!row.committedAt().isAfter(thirdRun)) {
+                assertTrue(exported.contains(row.id()), "row " + row.id() + " lost");
+            }
+        }
+
+        // Seules les lignes allouées dans la fenêtre avant un export sont exportées deux fois
+        assertOverlapInsideWindow(first, second, firstRun);
+        assertOverlapInsideWindow(second, third, secondRun);
+    }
+
+    @Test
+    void withoutCheckpointTheNextRunStartsWhereThisOneStarted() {
+        assertEquals(42L, checkpoints.nextStart(null, ExportTable.GAMES, 42L, START));
+
+        checkpoints.record(null, ExportTable.GAMES, 100L, START);
+        assertEquals(42L, checkpoints.nextStart(null, ExportTable.GAMES, 42L, START.plus(WINDOW).minusSeconds(1)));
+        assertEquals(100L, checkpoints.nextStart(null, ExportTable.GAMES, 42L, START.plus(WINDOW)));
+        // Un autre shard ou une autre table ont leurs propres points
+        assertEquals(42L, checkpoints.nextStart("shard1", ExportTable.GAMES, 42L, START.plusDays(1)));
+        assertEquals(42L, checkpoints.nextStart(null, ExportTable.PARTICIPATIONS, 42L, START.plusDays(1)));
+    }
+
+    @Test
+    void nextStartNeverGoesBelowTheRunStart() {
+        checkpoints.record(null, ExportTable.GAMES, 100L, START);
+
+        assertEquals(500L, checkpoints.nextStart(null, ExportTable.GAMES, 500L, START.plusDays(1)));
+    }
+
+    private LocalDateTime recordCheckpointsUntil(LocalDateTime clock, LocalDateTime until) {
+        while (!clock.isAfter(until)) {
+            checkpoints.record(null, ExportTable.GAMES, maxVisibleId(clock), clock);
+            clock = clock.plus(INTERVAL);
+        }
+        return clock;
+    }
+
+    private Run run(long fromId, LocalDateTime snapshotAt) {
+        List<Long> ids = rows.stream()
+            .filter(row -> row.id() > fromId && !row.committedAt().isAfter(snapshotAt))
+            .map(Row::id)
+            .toList();
+        return new Run(ids, checkpoints.nextStart(null, ExportTable.GAMES, fromId, snapshotAt));
+    }
+
+    private long maxVisibleId(LocalDateTime at) {
+        return rows.stream().filter(row -> !row.committedAt().isAfter(at)).mapToLong(Row::id).max().orElse(0);
+    }
+
+    private void assertOverlapInsideWindow(Run earlier, Run later, LocalDateTime earlierRun) {
+        Set<Long> repeated = new HashSet<>(earlier.ids());
+        repeated.retainAll(later.ids());
+        LocalDateTime windowStart = earlierRun.minus(WINDOW).minus(INTERVAL);
+        for (Row row : rows) {
+            if (repeated.contains(row.id())) {
+                assertFalse(row.allocatedAt().isBefore(windowStart), "row " + row.id() + " exported twice");
+            }
+        }
+        assertTrue(repeated.size() < earlier.ids().size() / 100, "repeated: " + repeated.size());
+    }
+
+    private record Run(List<Long> ids, long nextStart) {
+    }
+}
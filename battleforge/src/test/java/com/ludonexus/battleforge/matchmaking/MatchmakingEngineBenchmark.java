@@ -0,0 +1,98 @@
+package com.ludonexus.battleforge.matchmaking;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.ludonexus.battleforge.config.MatchmakingProperties;
+import com.ludonexus.battleforge.model.GameType;
+
+/**
+ * Throughput and latency benchmark of the matchmaking engine alone (no database, no HTTP).
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.ludonexus.battleforge.matchmaking.MatchmakingEngineBenchmark
+ *   [-Dexec.args="producers ticketsPerProducer"]
+ */
+public class MatchmakingEngineBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int producers = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int perProducer = args.length > 1 ? Integer.parseInt(args[1]) : 50_000;
+        int total = producers * perProducer;
+
+        MatchmakingProperties properties = new MatchmakingProperties();
+        properties.setTick(Duration.ofMillis(10));
+        properties.setWidenEvery(Duration.ofMillis(200));
+
+        long[] matchLatencies = new long[total];
+        AtomicInteger matched = new AtomicInteger();
+        LongAdder games = new LongAdder();
+
+        try (MatchmakingEngine engine = new MatchmakingEngine(properties, (List<Match> matches) -> {
+            games.add(matches.size());
+            for (Match match : matches) {
+                for (Ticket ticket : match.tickets()) {
+                    int i = matched.getAndIncrement();
+                    if (i < total) matchLatencies[i] = ticket.getMatchedAt() - ticket.getEnqueuedAt();
+                }
+            }
+        })) {
+            engine.start();
+
+            CountDownLatch start = new CountDownLatch(1);
+            Thread[] threads = new Thread[producers];
+            for (int p = 0; p < producers; p++) {
+                long firstId = (long) p * perProducer;
+                threads[p] = new Thread(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < perProducer; i++) {
+                        engine.enqueue(firstId + i, GameType.values()[random.nextInt(GameType.values().length)],
+                            1 + random.nextInt(30), random.nextInt(5_000));
+                    }
+                });
+                threads[p].start();
+            }
+
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            long enqueueNanos = System.nanoTime() - begin;
+            // Les derniers joueurs isolés hors de la fenêtre maximale restent en file
+            int previous = -1;
+            while (matched.get() != previous) {
+                previous = matched.get();
+                Thread.sleep(properties.getWidenEvery().toMillis() * 2);
+            }
+            long totalNanos = System.nanoTime() - begin;
+
+            int count = Math.min(matched.get(), total);
+            long[] latencies = Arrays.copyOf(matchLatencies, count);
+            Arrays.sort(latencies);
+
+            System.out.printf("producers=%d tickets=%d games=%d left waiting=%d%n",
+                producers, total, games.sum(), engine.getWaitingCount());
+            System.out.printf("enqueue throughput: %.0f/s%n", total / (enqueueNanos / 1e9));
+            System.out.printf("end-to-end throughput: %.0f matched/s (including %d ms settle time)%n",
+                count / (totalNanos / 1e9), properties.getWidenEvery().toMillis() * 2);
+            System.out.printf("enqueue-to-match latency ms: p50=%.1f p90=%.1f p99=%.1f max=%.1f%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.90),
+                percentile(latencies, 0.99), latencies[count - 1] / 1e6);
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(p * sorted.length))] / 1e6;
+    }
+}
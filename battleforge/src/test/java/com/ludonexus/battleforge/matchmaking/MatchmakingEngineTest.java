@@ -0,0 +1,257 @@
+package com.ludonexus.battleforge.matchmaking;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.ludonexus.battleforge.config.MatchmakingProperties;
+import com.ludonexus.battleforge.model.GameType;
+
+class MatchmakingEngineTest {
+    private final List<Match> delivered = new ArrayList<>();
+
+    private static MatchmakingProperties properties(Duration widenEvery, int maxWindow) {
+        MatchmakingProperties properties = new MatchmakingProperties();
+        properties.setWidenEvery(widenEvery);
+        properties.setMaxWindow(maxWindow);
+        return properties;
+    }
+
+    private MatchmakingEngine engine(Duration widenEvery, int maxWindow) {
+        return new MatchmakingEngine(properties(widenEvery, maxWindow), delivered::addAll);
+    }
+
+    @Test
+    void matchesPlayersOfTheSameBucket() {
+        MatchmakingEngine engine = engine(Duration.ofHours(1), 20);
+        Ticket first = engine.enqueue(1L, GameType.RANKED, 10, 1200);
+        Ticket second = engine.enqueue(2L, GameType.RANKED, 10, 1300);
+
+        assertEquals(1, engine.matchOnce());
+        assertEquals(1, delivered.size());
+        assertEquals(GameType.RANKED, delivered.get(0).gameType());
+        assertEquals(List.of(first, second), delivered.get(0).tickets());
+        for (Ticket ticket : List.of(first, second)) {
+            assertEquals(Ticket.Status.MATCHED, ticket.getStatus());
+            assertTrue(ticket.getMatchedAt() - ticket.getEnqueuedAt() >= 0);
+        }
+        assertEquals(0, engine.getWaitingCount());
+        assertEquals(0, engine.matchOnce());
+    }
+
+    @Test
+    void doesNotMixGameTypes() {
+        MatchmakingEngine engine = engine(Duration.ofHours(1), 20);
+        engine.enqueue(1L, GameType.RANKED, 10, 1200);
+        engine.enqueue(2L, GameType.CASUAL, 10, 1200);
+
+        assertEquals(0, engine.matchOnce());
+        assertEquals(2, engine.getWaitingCount());
+    }
+
+    @Test
+    void waitsForTheWindowToWiden() {
+        MatchmakingEngine engine = engine(Duration.ofHours(1), 20);
+        engine.enqueue(1L, GameType.RANKED, 10, 1200);
+        engine.enqueue(2L, GameType.RANKED, 10, 1700);
+
+        assertEquals(0, engine.matchOnce());
+
+        MatchmakingEngine widened = engine(Duration.ofNanos(1), 1);
+        widened.enqueue(1L, GameType.RANKED, 10, 1200);
+        widened.enqueue(2L, GameType.RANKED, 10, 1700);
+
+        assertEquals(1, widened.matchOnce());
+    }
+
+    @Test
+    void widensLevelAndBandSeparately() {
+        // Niveau 4 tranche 9 et niveau 5 tranche 0 sont voisins en numéro de bucket, pas en distance
+        MatchmakingEngine engine = engine(Duration.ofNanos(1), 1);
+        engine.enqueue(1L, GameType.RANKED, 4, 9 * 500);
+        engine.enqueue(2L, GameType.RANKED, 5, 0);
+
+        assertEquals(0, engine.matchOnce());
+
+        engine.enqueue(3L, GameType.RANKED, 5, 8 * 500);
+        assertEquals(1, engine.matchOnce());
+        Set<Long> players = delivered.get(0).tickets().stream().map(Ticket::getPlayerId).collect(Collectors.toSet());
+        assertEquals(Set.of(1L, 3L), players);
+    }
+
+    @Test
+    void rejectsAPlayerAlreadyWaiting() {
+        MatchmakingEngine engine = engine(Duration.ofHours(1), 20);
+        engine.enqueue(1L, GameType.RANKED, 10, 1200);
+
+        assertThrows(IllegalArgumentException.class, () -> engine.enqueue(1L, GameType.CASUAL, 10, 1200));
+    }
+
+    @Test
+    void cancelledTicketsAreNotMatched() {
+        MatchmakingEngine engine = engine(Duration.ofHours(1), 20);
+        engine.enqueue(1L, GameType.RANKED, 10, 1200);
+        engine.enqueue(2L, GameType.RANKED, 10, 1200);
+        assertTrue(engine.cancel(1L));
+        assertFalse(engine.cancel(1L));
+
+        assertEquals(0, engine.matchOnce());
+        assertTrue(engine.getTicket(1L).isEmpty());
+
+        engine.enqueue(3L, GameType.RANKED, 10, 1200);
+        assertEquals(1, engine.matchOnce());
+        assertEquals(List.of(2L, 3L), delivered.get(0).tickets().stream().map(Ticket::getPlayerId).toList());
+    }
+
+    @Test
+    void requeuesOnlyTheMatchesNotCreated() {
+        List<List<Match>> batches = new ArrayList<>();
+        boolean[] failing = { true };
+        MatchmakingEngine engine = new MatchmakingEngine(properties(Duration.ofHours(1), 20), matches -> {
+            batches.add(matches);
+            if (failing[0]) {
+                // La première partie est enregistrée, l'échec survient sur la seconde
+                matches.get(0).tickets().forEach(ticket -> ticket.setGameId(42L));
+                throw new IllegalStateException("database down");
+            }
+        });
+        Ticket a = engine.enqueue(1L, GameType.RANKED, 10, 1200);
+        Ticket b = engine.enqueue(2L, GameType.RANKED, 10, 1200);
+        Ticket c = engine.enqueue(3L, GameType.RANKED, 10, 1200);
+        Ticket d = engine.enqueue(4L, GameType.RANKED, 10, 1200);
+
+        assertEquals(2, engine.matchOnce());
+        assertEquals(Ticket.Status.MATCHED, a.getStatus());
+        assertEquals(Ticket.Status.MATCHED, b.getStatus());
+        assertEquals(Ticket.Status.WAITING, c.getStatus());
+        assertEquals(Ticket.Status.WAITING, d.getStatus());
+        assertEquals(0, c.getMatchedAt());
+        assertTrue(c.isQueued() && d.isQueued());
+
+        failing[0] = false;
+        assertEquals(1, engine.matchOnce());
+        assertEquals(List.of(c, d), batches.get(1).get(0).tickets());
+        // Un doublon dans la file ne doit pas reformer de partie
+        assertEquals(0, engine.matchOnce());
+        assertEquals(2, batches.size());
+    }
+
+    @Test
+    void requeuedTicketKeepsItsPlaceOnce() {
+        boolean[] failing = { true };
+        MatchmakingEngine engine = new MatchmakingEngine(properties(Duration.ofHours(1), 20), matches -> {
+            if (failing[0]) throw new IllegalStateException("database down");
+            delivered.addAll(matches);
+        });
+        Ticket a = engine.enqueue(1L, GameType.RANKED, 10, 1200);
+        Ticket b = engine.enqueue(2L, GameType.RANKED, 10, 1200);
+
+        assertEquals(1, engine.matchOnce());
+        assertEquals(Ticket.Status.WAITING, a.getStatus());
+        assertEquals(Ticket.Status.WAITING, b.getStatus());
+
+        failing[0] = false;
+        Ticket c = engine.enqueue(3L, GameType.RANKED, 10, 1200);
+        Ticket d = engine.enqueue(4L, GameType.RANKED, 10, 1200);
+        assertEquals(2, engine.matchOnce());
+        assertEquals(List.of(a, b), delivered.get(0).tickets());
+        assertEquals(List.of(c, d), delivered.get(1).tickets());
+        assertEquals(0, engine.matchOnce());
+    }
+
+    @Test
+    void failedDeliveryDoesNotDuplicateAQueuedTicket() throws InterruptedException {
+        boolean[] failing = { true };
+        MatchmakingProperties properties = properties(Duration.ofMillis(200), 1);
+        properties.setPlayersPerGame(3);
+        MatchmakingEngine engine = new MatchmakingEngine(properties, matches -> {
+            if (failing[0]) throw new IllegalStateException("database down");
+            delivered.addAll(matches);
+        });
+        // Seul le ticket le plus ancien a une fenêtre élargie : il va chercher x dans la tranche inférieure,
+        // déjà parcourue, où x reste en tête de file après avoir été pris
+        engine.enqueue(1L, GameType.RANKED, 10, 1700);
+        Thread.sleep(250);
+        engine.enqueue(2L, GameType.RANKED, 10, 1700);
+        Ticket x = engine.enqueue(3L, GameType.RANKED, 10, 1200);
+
+        assertEquals(1, engine.matchOnce());
+        assertEquals(Ticket.Status.WAITING, x.getStatus());
+
+        failing[0] = false;
+        assertTrue(engine.cancel(2L));
+        engine.enqueue(4L, GameType.RANKED, 10, 1200);
+        assertEquals(1, engine.matchOnce());
+        Set<Long> players = delivered.get(0).tickets().stream().map(Ticket::getPlayerId).collect(Collectors.toSet());
+        assertEquals(Set.of(1L, 3L, 4L), players);
+    }
+
+    @Test
+    void failedDeliveryCancelsATicketReplacedMeanwhile() {
+        boolean[] failing = { true };
+        Ticket[] replacement = new Ticket[1];
+        MatchmakingEngine[] engine = new MatchmakingEngine[1];
+        engine[0] = new MatchmakingEngine(properties(Duration.ofHours(1), 20), matches -> {
+            if (failing[0]) {
+                // Le joueur 1 se réinscrit pendant que sa partie est en cours de création
+                replacement[0] = engine[0].enqueue(1L, GameType.RANKED, 10, 1200);
+                throw new IllegalStateException("database down");
+            }
+            delivered.addAll(matches);
+        });
+        Ticket a = engine[0].enqueue(1L, GameType.RANKED, 10, 1200);
+        Ticket b = engine[0].enqueue(2L, GameType.RANKED, 10, 1200);
+
+        assertEquals(1, engine[0].matchOnce());
+        assertEquals(Ticket.Status.CANCELLED, a.getStatus());
+        assertEquals(Ticket.Status.WAITING, b.getStatus());
+        assertSame(replacement[0], engine[0].getTicket(1L).orElseThrow());
+        assertEquals(2, engine[0].getWaitingCount());
+
+        failing[0] = false;
+        assertEquals(1, engine[0].matchOnce());
+        assertEquals(List.of(replacement[0], b), delivered.get(0).tickets());
+        assertEquals(0, engine[0].matchOnce());
+    }
+
+    @Test
+    void sinkIsCalledOutsideTheEngineLock() throws InterruptedException {
+        CountDownLatch inSink = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MatchmakingEngine engine = new MatchmakingEngine(properties(Duration.ofHours(1), 20), matches -> {
+            if (matches.get(0).tickets().get(0).getPlayerId() == 1L) {
+                inSink.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            delivered.addAll(matches);
+        });
+        engine.enqueue(1L, GameType.RANKED, 10, 1200);
+        engine.enqueue(2L, GameType.RANKED, 10, 1200);
+        Thread slowDelivery = Thread.ofPlatform().start(engine::matchOnce);
+        assertTrue(inSink.await(5, TimeUnit.SECONDS));
+
+        // Une création de partie lente ne bloque ni les passes suivantes ni les réinscriptions
+        engine.enqueue(3L, GameType.RANKED, 10, 1200);
+        engine.enqueue(4L, GameType.RANKED, 10, 1200);
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertEquals(1, engine.matchOnce());
+            engine.enqueue(3L, GameType.CASUAL, 10, 1200);
+        });
+
+        release.countDown();
+        slowDelivery.join();
+        assertEquals(2, delivered.size());
+    }
+}
@@ -0,0 +1,47 @@
+package com.ludonexus.battleforge.profiling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class SqlFingerprintTest {
+
+    @Test
+    void keepsStatementsWithoutLiterals() {
+        String sql = "select g1_0.id,g1_0.game_type from games g1_0 where g1_0.id=?";
+        assertEquals(sql, SqlFingerprint.of(sql));
+    }
+
+    @Test
+    void replacesStringLiterals() {
+        assertEquals("SELECT id FROM players WHERE username = ? AND email = ?",
+            SqlFingerprint.of("SELECT id FROM players WHERE username = 'o''brien' AND email = 'a@b.c'"));
+        assertEquals("SELECT ?", SqlFingerprint.of("SELECT 'unterminated"));
+    }
+
+    @Test
+    void replacesNumericLiteralsButNotIdentifiers() {
+        assertEquals("UPDATE players SET total_points = total_points + ? WHERE id = ? AND ratio > ?",
+            SqlFingerprint.of("UPDATE players SET total_points = total_points + 150 WHERE id = 42 AND ratio > 1.5"));
+        assertEquals("SELECT p1_0.id FROM players p1_0 LIMIT ?",
+            SqlFingerprint.of("SELECT p1_0.id FROM players p1_0 LIMIT 1e3"));
+    }
+
+    @Test
+    void squeezesWhitespace() {
+        assertEquals("SELECT id FROM games WHERE id = ?",
+            SqlFingerprint.of("  SELECT\n    id\tFROM   games\r\n WHERE id = ?  "));
+    }
+
+    @Test
+    void collapsesInListsOfAnySize() {
+        String expected = "SELECT id FROM games WHERE id IN (?...)";
+        assertEquals(expected, SqlFingerprint.of("SELECT id FROM games WHERE id IN (?, ?)"));
+        assertEquals(expected, SqlFingerprint.of("SELECT id FROM games WHERE id IN (?,?,?,?,?)"));
+        assertEquals(expected, SqlFingerprint.of("SELECT id FROM games WHERE id IN (1, 2, 3)"));
+        // Un seul paramètre ou une expression ne sont pas des listes
+        assertEquals("SELECT id FROM games WHERE id IN (?)", SqlFingerprint.of("SELECT id FROM games WHERE id IN (?)"));
+        assertEquals("SELECT coalesce(max_score, ?) FROM games",
+            SqlFingerprint.of("SELECT coalesce(max_score, 0) FROM games"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.ludonexus.battleforge.rating;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class Glicko2Test {
+
+    // Exemple de Glickman, "Example of the Glicko-2 system" : 1500/200/0.06 contre trois adversaires, tau = 0.5
+    @Test
+    void matchesGlickmansExample() {
+        Glicko2 glicko2 = new Glicko2(0.5, 350);
+        double[] mu = { Glicko2.toMu(1500), Glicko2.toMu(1400), Glicko2.toMu(1550), Glicko2.toMu(1700) };
+        double[] phi = { Glicko2.toPhi(200), Glicko2.toPhi(30), Glicko2.toPhi(100), Glicko2.toPhi(300) };
+        double[] sigma = { 0.06, 0.06, 0.06, 0.06 };
+        double[][] outcomes = new double[4][4];
+        outcomes[0] = new double[] { 0, 1, 0, 0 };
+        for (int j = 1; j < 4; j++) {
+            for (int i = 1; i < 4; i++) outcomes[j][i] = 0.5;
+            outcomes[j][0] = 1 - outcomes[0][j];
+        }
+        double[] outMu = new double[4];
+        double[] outPhi = new double[4];
+        double[] outSigma = new double[4];
+
+        glicko2.rateGame(4, mu, phi, sigma, outcomes, outMu, outPhi, outSigma);
+
+        assertEquals(1464.06, Glicko2.toRating(outMu[0]), 0.01);
+        assertEquals(151.52, Glicko2.toDeviation(outPhi[0]), 0.01);
+        assertEquals(0.05999, outSigma[0], 0.00001);
+        assertEquals(Glicko2.toMu(1500), mu[0]);
+    }
+
+    @Test
+    void evenPlayersMoveSymmetrically() {
+        Glicko2 glicko2 = new Glicko2(0.5, 350);
+        double[] mu = { 0, 0 };
+        double[] phi = { Glicko2.toPhi(350), Glicko2.toPhi(350) };
+        double[] sigma = { 0.06, 0.06 };
+        double[][] outcomes = { { 0, 1 }, { 0, 0 } };
+        double[] outMu = new double[2];
+        double[] outPhi = new double[2];
+        double[] outSigma = new double[2];
+
+        glicko2.rateGame(2, mu, phi, sigma, outcomes, outMu, outPhi, outSigma);
+
+        assertTrue(outMu[0] > 0);
+        assertEquals(-outMu[0], outMu[1], 1e-9);
+        assertEquals(outPhi[0], outPhi[1], 1e-9);
+        assertTrue(outPhi[0] < phi[0]);
+    }
+
+    @Test
+    void deviationIsCapped() {
+        Glicko2 glicko2 = new Glicko2(0.5, 100);
+        double[] mu = { 0, 0 };
+        double[] phi = { Glicko2.toPhi(350), Glicko2.toPhi(350) };
+        double[] sigma = { 0.06, 0.06 };
+        double[][] outcomes = { { 0, 0.5 }, { 0.5, 0 } };
+        double[] outMu = new double[2];
+        double[] outPhi = new double[2];
+        double[] outSigma = new double[2];
+
+        glicko2.rateGame(2, mu, phi, sigma, outcomes, outMu, outPhi, outSigma);
+
+        assertEquals(100, Glicko2.toDeviation(outPhi[0]), 1e-9);
+        assertEquals(0, outMu[0], 1e-9);
+    }
+
+    @Test
+    void outcomeRanksVictoryThenScore() {
+        int noScore = Integer.MIN_VALUE;
+        assertEquals(1, Glicko2.outcome(true, 10, false, 50, noScore));
+        assertEquals(0, Glicko2.outcome(false, 50, true, 10, noScore));
+        assertEquals(1, Glicko2.outcome(false, 50, false, 10, noScore));
+        assertEquals(0, Glicko2.outcome(true, 10, true, 50, noScore));
+        assertEquals(0.5, Glicko2.outcome(true, 10, true, 10, noScore));
+        assertEquals(0.5, Glicko2.outcome(false, noScore, false, 10, noScore));
+    }
+
+    @Test
+    void convertsBetweenScales() {
+        assertEquals(0, Glicko2.toMu(Glicko2.BASE_RATING));
+        assertEquals(1700, Glicko2.toRating(Glicko2.toMu(1700)), 1e-9);
+        assertEquals(200, Glicko2.toDeviation(Glicko2.toPhi(200)), 1e-9);
+    }
+}
@@ -0,0 +1,71 @@
+package com.ludonexus.battleforge.shard;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+    private static final int KEYS = 100_000;
+    private static final int VIRTUAL_NODES = 128;
+
+    @Test
+    void requiresAShard() {
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(List.of(), VIRTUAL_NODES));
+    }
+
+    @Test
+    void singleShardOwnsEveryKey() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("main"), VIRTUAL_NODES);
+        for (long key = 1; key <= 1000; key++) {
+            assertEquals("main", ring.shardFor(key));
+        }
+        assertEquals("main", ring.shardFor(Long.MAX_VALUE));
+        assertEquals("main", ring.shardFor(Long.MIN_VALUE));
+    }
+
+    @Test
+    void ownershipDoesNotDependOnTheShardOrder() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("main", "s1", "s2"), VIRTUAL_NODES);
+        ConsistentHashRing reordered = new ConsistentHashRing(List.of("s2", "main", "s1"), VIRTUAL_NODES);
+        for (long key = 1; key <= KEYS; key++) {
+            assertEquals(ring.shardFor(key), reordered.shardFor(key));
+        }
+    }
+
+    @Test
+    void spreadsConsecutiveIdsEvenly() {
+        List<String> shards = List.of("main", "s1", "s2", "s3");
+        ConsistentHashRing ring = new ConsistentHashRing(shards, VIRTUAL_NODES);
+        Map<String, Integer> counts = new HashMap<>();
+        for (long key = 1; key <= KEYS; key++) {
+            counts.merge(ring.shardFor(key), 1, Integer::sum);
+        }
+
+        assertEquals(shards.size(), counts.size());
+        double fair = (double) KEYS / shards.size();
+        for (Map.Entry<String, Integer> count : counts.entrySet()) {
+            assertTrue(Math.abs(count.getValue() - fair) < fair * 0.25, count.toString());
+        }
+    }
+
+    @Test
+    void addingAShardOnlyMovesKeysToIt() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("main", "s1", "s2"), VIRTUAL_NODES);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("main", "s1", "s2", "s3"), VIRTUAL_NODES);
+
+        int moved = 0;
+        for (long key = 1; key <= KEYS; key++) {
+            String owner = after.shardFor(key);
+            if (!owner.equals(before.shardFor(key))) {
+                assertEquals("s3", owner);
+                moved++;
+            }
+        }
+        // Environ un quart des clés rejoint le nouveau shard
+        assertTrue(moved > KEYS * 0.15 && moved < KEYS * 0.35, "moved: " + moved);
+    }
+}
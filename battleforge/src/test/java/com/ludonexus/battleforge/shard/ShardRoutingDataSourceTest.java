@@ -0,0 +1,100 @@
+package com.ludonexus.battleforge.shard;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ludonexus.battleforge.config.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+
+class ShardRoutingDataSourceTest {
+    private final ShardRoutingDataSource dataSource = new ShardRoutingDataSource("main");
+    // Les pools n'ouvrent aucune connexion : locate() n'est pas appelé hors rééquilibrage
+    private final ShardDataSources shardDataSources = shardDataSources("main", "s1");
+    private final ShardRouter shardRouter = shardRouter(shardDataSources);
+
+    private static ShardDataSources shardDataSources(String... shards) {
+        Map<String, HikariDataSource> dataSources = new LinkedHashMap<>();
+        for (String shard : shards) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl("jdbc:postgresql://localhost:1/" + shard);
+            dataSources.put(shard, dataSource);
+        }
+        return new ShardDataSources(dataSources);
+    }
+
+    private static ShardRouter shardRouter(ShardDataSources shardDataSources) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("shardDataSources", shardDataSources));
+        return new ShardRouter(new ShardingProperties(), beans.getBeanProvider(ShardDataSources.class),
+            new DataSourceTransactionManager(shardDataSources.asMap().get("main")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        ShardContext.clear();
+        shardRouter.shutdown();
+        shardDataSources.close();
+    }
+
+    @Test
+    void callsOutsideATransactionUseTheMainShardWithoutBinding() {
+        assertNull(dataSource.determineCurrentLookupKey());
+        assertNull(ShardContext.current());
+    }
+
+    @Test
+    void boundTransactionsUseTheirShard() {
+        TransactionSynchronizationManager.initSynchronization();
+        shardRouter.bindNewGame(gameOn("s1"));
+
+        assertEquals("s1", dataSource.determineCurrentLookupKey());
+        complete();
+        assertNull(ShardContext.current());
+    }
+
+    @Test
+    void anUnboundTransactionStaysOnTheMainShardUntilItCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertEquals("main", dataSource.determineCurrentLookupKey());
+        shardRouter.bindNewGame(gameOn("main"));
+        assertThrows(IllegalStateException.class, () -> shardRouter.bindNewGame(gameOn("s1")));
+
+        complete();
+        assertNull(ShardContext.current());
+    }
+
+    @Test
+    void bindingRequiresATransaction() {
+        assertThrows(IllegalStateException.class, () -> shardRouter.bindNewGame(gameOn("s1")));
+        assertNull(ShardContext.current());
+    }
+
+    private long gameOn(String shard) {
+        for (long gameId = 1; ; gameId++) {
+            if (shardRouter.ownerOf(gameId).equals(shard)) {
+                return gameId;
+            }
+        }
+    }
+
+    private static void complete() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+    }
+}
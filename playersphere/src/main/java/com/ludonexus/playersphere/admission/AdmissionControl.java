@@ -0,0 +1,155 @@
+package com.ludonexus.playersphere.admission;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import com.ludonexus.playersphere.config.AdmissionProperties;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Decides whether a request runs now. A request must pass, in order: its client's token bucket
+ * (except CRITICAL ones and service calls), its endpoint's adaptive limit, and its priority's share
+ * of the global adaptive limit. Rejections are immediate, nothing waits in a queue.
+ */
+@Component
+public class AdmissionControl {
+    // Clients au-delà de max-clients : un seau partagé
+    private static final String OTHER_CLIENTS = "(other)";
+
+    public enum Outcome { ADMITTED, THROTTLED, SHED }
+
+    private final AdmissionProperties properties;
+    private final AdaptiveLimit globalLimit;
+    private final ConcurrentHashMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, TokenBucket> clients = new ConcurrentHashMap<>();
+
+    public AdmissionControl(AdmissionProperties properties) {
+        this.properties = properties;
+        this.globalLimit = new AdaptiveLimit(properties.getGlobalInitialLimit(), properties.getGlobalMinLimit(),
+            properties.getGlobalMaxLimit(), properties.getTolerance(), properties.getSmoothing());
+    }
+
+    @Getter
+    public static class Endpoint {
+        private final String name;
+        private final Priority priority;
+        private final AdaptiveLimit limit;
+        @Getter(AccessLevel.NONE)
+        private final LongAdder admitted = new LongAdder();
+        @Getter(AccessLevel.NONE)
+        private final LongAdder throttled = new LongAdder();
+        @Getter(AccessLevel.NONE)
+        private final LongAdder shed = new LongAdder();
+
+        Endpoint(String name, Priority priority, AdaptiveLimit limit) {
+            this.name = name;
+            this.priority = priority;
+            this.limit = limit;
+        }
+
+        public long getAdmitted() {
+            return admitted.sum();
+        }
+
+        public long getThrottled() {
+            return throttled.sum();
+        }
+
+        public long getShed() {
+            return shed.sum();
+        }
+    }
+
+    public Endpoint endpoint(String name, Priority priority) {
+        return endpoints.computeIfAbsent(name, n -> new Endpoint(n, priority, new AdaptiveLimit(
+            properties.getInitialLimit(), properties.getMinLimit(), properties.getMaxLimit(),
+            properties.getTolerance(), properties.getSmoothing())));
+    }
+
+    /**
+     * @param service an internal service call (e.g. BattleForge reading a profile for matchmaking):
+     *                not subject to client quotas and never shed as LOW
+     */
+    public Outcome tryAdmit(Endpoint endpoint, String clientId, boolean service) {
+        if (endpoint.priority != Priority.CRITICAL && !service && !bucketOf(clientId).tryTake(System.nanoTime())) {
+            endpoint.throttled.increment();
+            return Outcome.THROTTLED;
+        }
+        Priority priority = service && endpoint.priority == Priority.LOW ? Priority.NORMAL : endpoint.priority;
+        if (!endpoint.limit.tryAcquire(1.0)) {
+            endpoint.shed.increment();
+            return Outcome.SHED;
+        }
+        if (!globalLimit.tryAcquire(shareOf(priority))) {
+            endpoint.limit.release();
+            endpoint.shed.increment();
+            return Outcome.SHED;
+        }
+        endpoint.admitted.increment();
+        return Outcome.ADMITTED;
+    }
+
+    /**
+     * Ends an admitted request. Only successful requests feed the limits: a failure is often
+     * fast and would make them grow. Long-running requests do not feed them either.
+     */
+    public void release(Endpoint endpoint, long latencyNanos, boolean succeeded) {
+        if (succeeded) {
+            endpoint.limit.release(latencyNanos);
+            globalLimit.release(latencyNanos);
+        } else {
+            endpoint.limit.release();
+            globalLimit.release();
+        }
+    }
+
+    public long retryAfterSeconds(String clientId) {
+        long wait = Math.max(bucketOf(clientId).nanosUntilNextToken(System.nanoTime()), properties.getRetryAfter().toNanos());
+        return Math.max(1, (wait + 999_999_999) / 1_000_000_000);
+    }
+
+    private double shareOf(Priority priority) {
+        return switch (priority) {
+            case CRITICAL -> 1.0;
+            case NORMAL -> properties.getNormalShare();
+            case LOW -> properties.getLowShare();
+        };
+    }
+
+    private TokenBucket bucketOf(String clientId) {
+        TokenBucket bucket = clients.get(clientId);
+        if (bucket != null) {
+            return bucket;
+        }
+        long now = System.nanoTime();
+        if (clients.size() >= properties.getMaxClients()) {
+            clients.values().removeIf(b -> b.isFull(now));
+            if (clients.size() >= properties.getMaxClients()) {
+                clientId = OTHER_CLIENTS;
+            }
+        }
+        return clients.computeIfAbsent(clientId,
+            id -> new TokenBucket(properties.getClientRate(), properties.getClientBurst(), now));
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public AdaptiveLimit getGlobalLimit() {
+        return globalLimit;
+    }
+
+    public Collection<Endpoint> getEndpoints() {
+        return endpoints.values();
+    }
+
+    public int getClientCount() {
+        return clients.size();
+    }
+}
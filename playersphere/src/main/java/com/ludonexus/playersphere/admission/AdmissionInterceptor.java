@@ -0,0 +1,97 @@
+package com.ludonexus.playersphere.admission;
+
+import java.util.Set;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.ludonexus.playersphere.config.AdmissionProperties;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admits or rejects each request before its handler runs: 429 when the client is over its
+ * quota, 503 when the endpoint or the service is at its limit. Both carry Retry-After.
+ * The client is the remote address, or the client header when the request comes from a trusted address.
+ */
+public class AdmissionInterceptor implements AsyncHandlerInterceptor {
+    private static final String ENDPOINT_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".endpoint";
+    private static final String STARTED_AT_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".startedAt";
+    private static final String SAMPLED_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".sampled";
+
+    private final AdmissionControl admissionControl;
+    private final String clientHeader;
+    private final Set<String> trustedAddresses;
+    private final Set<String> serviceClients;
+
+    public AdmissionInterceptor(AdmissionControl admissionControl, AdmissionProperties properties) {
+        this.admissionControl = admissionControl;
+        this.clientHeader = properties.getClientHeader();
+        this.trustedAddresses = Set.copyOf(properties.getTrustedAddresses());
+        this.serviceClients = Set.copyOf(properties.getServiceClients());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Déjà admise lors du premier passage
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String name = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        AdmissionControl.Endpoint endpoint = admissionControl.endpoint(name, priorityOf(request, handler));
+
+        String clientId = request.getRemoteAddr();
+        boolean service = false;
+        String declaredClientId = request.getHeader(clientHeader);
+        if (declaredClientId != null && !declaredClientId.isBlank() && trustedAddresses.contains(clientId)) {
+            clientId = declaredClientId;
+            service = serviceClients.contains(clientId);
+        }
+
+        AdmissionControl.Outcome outcome = admissionControl.tryAdmit(endpoint, clientId, service);
+        if (outcome == AdmissionControl.Outcome.ADMITTED) {
+            request.setAttribute(ENDPOINT_ATTRIBUTE, endpoint);
+            request.setAttribute(STARTED_AT_ATTRIBUTE, System.nanoTime());
+            request.setAttribute(SAMPLED_ATTRIBUTE, !isLongRunning(handler));
+            return true;
+        }
+
+        response.setStatus(outcome == AdmissionControl.Outcome.THROTTLED
+            ? HttpStatus.TOO_MANY_REQUESTS.value()
+            : HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(admissionControl.retryAfterSeconds(clientId)));
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(ENDPOINT_ATTRIBUTE) instanceof AdmissionControl.Endpoint endpoint)) {
+            return;
+        }
+        request.removeAttribute(ENDPOINT_ATTRIBUTE);
+        long latency = System.nanoTime() - (Long) request.getAttribute(STARTED_AT_ATTRIBUTE);
+        boolean sampled = (Boolean) request.getAttribute(SAMPLED_ATTRIBUTE);
+        admissionControl.release(endpoint, latency, sampled && ex == null && response.getStatus() < 500);
+    }
+
+    private static boolean isLongRunning(Object handler) {
+        return handler instanceof HandlerMethod handlerMethod && handlerMethod.hasMethodAnnotation(LongRunning.class);
+    }
+
+    private static Priority priorityOf(HttpServletRequest request, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            AdmissionPriority priority = handlerMethod.getMethodAnnotation(AdmissionPriority.class);
+            if (priority != null) {
+                return priority.value();
+            }
+        }
+        return "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()) ? Priority.LOW : Priority.NORMAL;
+    }
+}
@@ -0,0 +1,13 @@
+package com.ludonexus.playersphere.admission;
+
+/**
+ * Priority class of an endpoint. Under load, LOW requests are the first shed and CRITICAL ones
+ * can use the whole global limit.
+ */
+public enum Priority {
+    // Écritures de résultats : jamais soumises au quota par client
+    CRITICAL,
+    NORMAL,
+    // Lectures, qu'un client peut toujours refaire
+    LOW
+}
@@ -0,0 +1,43 @@
+package com.ludonexus.playersphere.admission;
+
+/**
+ * Per-client request budget: refills at rate tokens per second, up to burst tokens.
+ */
+public class TokenBucket {
+    private final double tokensPerNano;
+    private final double burst;
+    private double tokens;
+    private long refilledAt;
+
+    public TokenBucket(double ratePerSecond, double burst, long now) {
+        this.tokensPerNano = ratePerSecond / 1_000_000_000d;
+        this.burst = burst;
+        this.tokens = burst;
+        this.refilledAt = now;
+    }
+
+    public synchronized boolean tryTake(long now) {
+        refill(now);
+        if (tokens >= 1) {
+            tokens--;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized long nanosUntilNextToken(long now) {
+        refill(now);
+        return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    // Plein : le client n'a rien consommé depuis longtemps, le seau peut être oublié
+    public synchronized boolean isFull(long now) {
+        refill(now);
+        return tokens >= burst;
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+    }
+}
@@ -0,0 +1,144 @@
+package com.ludonexus.playersphere.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Concurrent loads of the same key share a single call to the loader and its result (or exception).
+ * Nothing is cached: the key is forgotten as soon as the load completes, so a caller arriving
+ * after that starts a new load. Results are shared between callers and must not be mutated.
+ */
+public class SingleFlight<K, V> {
+    private final String name;
+    private final int queriesPerLoad;
+    private final boolean enabled;
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public SingleFlight(String name, int queriesPerLoad, boolean enabled) {
+        this.name = name;
+        this.queriesPerLoad = queriesPerLoad;
+        this.enabled = enabled;
+    }
+
+    public V load(K key, Supplier<V> loader) {
+        calls.increment();
+        if (!enabled) {
+            loads.increment();
+            return loader.get();
+        }
+
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            coalesced.increment();
+            return await(leader);
+        }
+
+        loads.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Non-blocking variant of load: the loader starts the load and returns its future, which
+     * is shared with the callers of both variants arriving before it completes.
+     */
+    public CompletableFuture<V> loadAsync(K key, Supplier<CompletableFuture<V>> loader) {
+        calls.increment();
+        if (!enabled) {
+            loads.increment();
+            return loader.get();
+        }
+
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            coalesced.increment();
+            return leader;
+        }
+
+        loads.increment();
+        CompletableFuture<V> load;
+        try {
+            load = loader.get();
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            inFlight.remove(key, flight);
+            throw e;
+        }
+        load.whenComplete((value, failure) -> {
+            if (failure != null) {
+                flight.completeExceptionally(failure);
+            } else {
+                flight.complete(value);
+            }
+            inFlight.remove(key, flight);
+        });
+        return flight;
+    }
+
+    /**
+     * Callers arriving after this no longer join the load in progress for the key.
+     * To call once a write on the key is committed, so the writer reads its own write.
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    public long getSavedQueries() {
+        return getCoalesced() * queriesPerLoad;
+    }
+
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
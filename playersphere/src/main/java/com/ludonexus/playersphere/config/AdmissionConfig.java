@@ -0,0 +1,36 @@
+package com.ludonexus.playersphere.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.ludonexus.playersphere.admission.AdmissionControl;
+import com.ludonexus.playersphere.admission.AdmissionInterceptor;
+
+/**
+ * When ludonexus.admission.enabled is set, every API request except the admin endpoints goes
+ * through admission control before any other interceptor.
+ */
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "ludonexus.admission", name = "enabled", havingValue = "true")
+    public WebMvcConfigurer admissionInterceptorConfigurer(AdmissionControl admissionControl,
+            AdmissionProperties properties) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new AdmissionInterceptor(admissionControl, properties))
+                    .addPathPatterns("/api/**")
+                    .excludePathPatterns("/api/admin/**")
+                    .order(Ordered.HIGHEST_PRECEDENCE);
+            }
+        };
+    }
+}
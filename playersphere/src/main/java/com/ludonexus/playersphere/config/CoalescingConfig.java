@@ -0,0 +1,18 @@
+package com.ludonexus.playersphere.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ludonexus.playersphere.concurrent.SingleFlight;
+import com.ludonexus.playersphere.dto.PlayerDTO;
+
+@Configuration
+public class CoalescingConfig {
+
+    // Un chargement = le joueur puis ses amitiés (avec les amis)
+    @Bean
+    public SingleFlight<Long, PlayerDTO> playerReads(@Value("${ludonexus.coalescing.enabled:true}") boolean enabled) {
+        return new SingleFlight<>("players", 2, enabled);
+    }
+}
@@ -0,0 +1,27 @@
+package com.ludonexus.playersphere.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replica while it is healthy, everything else to the primary.
+ * Must sit behind a LazyConnectionDataSourceProxy: the read-only flag is only bound once the
+ * transaction has begun, after the transaction manager asked for a connection.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    public enum Route { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+
+    public ReadWriteRoutingDataSource(ReplicaLagMonitor replicaLagMonitor) {
+        this.replicaLagMonitor = replicaLagMonitor;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && replicaLagMonitor.isUsable()) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+}
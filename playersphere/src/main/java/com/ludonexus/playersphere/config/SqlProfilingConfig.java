@@ -0,0 +1,50 @@
+package com.ludonexus.playersphere.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.ludonexus.playersphere.profiling.EndpointInterceptor;
+import com.ludonexus.playersphere.profiling.ProfilingDataSource;
+import com.ludonexus.playersphere.profiling.SqlProfiler;
+
+/**
+ * When ludonexus.sql-profiling.enabled is set, the application DataSource (the "dataSource" bean,
+ * routing proxies included) is wrapped so every JDBC statement is profiled.
+ */
+@Configuration
+@EnableConfigurationProperties(SqlProfilingProperties.class)
+public class SqlProfilingConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "ludonexus.sql-profiling", name = "enabled", havingValue = "true")
+    public static BeanPostProcessor profilingDataSourcePostProcessor(ObjectProvider<SqlProfiler> sqlProfiler) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && beanName.equals("dataSource")) {
+                    return new ProfilingDataSource(dataSource, sqlProfiler.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "ludonexus.sql-profiling", name = "enabled", havingValue = "true")
+    public WebMvcConfigurer endpointInterceptorConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new EndpointInterceptor());
+            }
+        };
+    }
+}
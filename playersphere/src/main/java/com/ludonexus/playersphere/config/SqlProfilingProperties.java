@@ -0,0 +1,21 @@
+package com.ludonexus.playersphere.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "ludonexus.sql-profiling")
+public class SqlProfilingProperties {
+    // Désactivé : la DataSource n'est pas enveloppée du tout
+    private boolean enabled = false;
+    private Duration slowThreshold = Duration.ofMillis(200);
+    private double slowSampleRate = 0.1;
+    private int maxBindLength = 100;
+    // Les chaînes (emails, noms...) sont masquées dans les journaux sauf activation explicite
+    private boolean logStringBinds = false;
+    // Au-delà, les nouvelles requêtes sont comptées sous l'empreinte "(other)" de leur endpoint
+    private int maxStatements = 5000;
+}
@@ -0,0 +1,38 @@
+package com.ludonexus.playersphere.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ludonexus.playersphere.concurrent.SingleFlight;
+import com.ludonexus.playersphere.dto.CoalescingStatsDTO;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/admin/coalescing")
+@RequiredArgsConstructor
+public class CoalescingController {
+    private final List<SingleFlight<?, ?>> singleFlights;
+
+    @GetMapping
+    public ResponseEntity<List<CoalescingStatsDTO>> getStats() {
+        List<CoalescingStatsDTO> stats = new ArrayList<>();
+        for (SingleFlight<?, ?> singleFlight : singleFlights) {
+            CoalescingStatsDTO dto = new CoalescingStatsDTO();
+            dto.setName(singleFlight.getName());
+            dto.setCalls(singleFlight.getCalls());
+            dto.setLoads(singleFlight.getLoads());
+            dto.setCoalesced(singleFlight.getCoalesced());
+            dto.setCoalescingRatio(dto.getCalls() > 0 ? (double) dto.getCoalesced() / dto.getCalls() : 0);
+            dto.setSavedQueries(singleFlight.getSavedQueries());
+            dto.setInFlight(singleFlight.getInFlight());
+            stats.add(dto);
+        }
+        return ResponseEntity.ok(stats);
+    }
+}
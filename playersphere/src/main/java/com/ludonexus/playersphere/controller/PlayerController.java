@@ -1,8 +1,14 @@
 package com.ludonexus.playersphere.controller;
 
+import com.ludonexus.playersphere.admission.AdmissionPriority;
+import com.ludonexus.playersphere.admission.Priority;
+import com.ludonexus.playersphere.concurrent.SingleFlight;
+import com.ludonexus.playersphere.dto.AvailabilityDTO;
 import com.ludonexus.playersphere.dto.PlayerDTO;
 import com.ludonexus.playersphere.dto.PlayerIdRequestDTO;
 import com.ludonexus.playersphere.dto.PlayerPointsRequestDTO;
+import com.ludonexus.playersphere.dto.PlayerRatingDTO;
+import com.ludonexus.playersphere.dto.PlayerSearchResultDTO;
 import com.ludonexus.playersphere.exception.InvalidFriendshipException;
 import com.ludonexus.playersphere.exception.PlayerAlreadyExistsException;
 import com.ludonexus.playersphere.exception.PlayerNotFoundException;
@@ -22,6 +28,7 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class PlayerController {
     private final PlayerService playerService;
+    private final SingleFlight<Long, PlayerDTO> playerReads;
 
     @GetMapping
     public ResponseEntity<List<PlayerDTO>> getAllPlayers() {
@@ -34,10 +41,30 @@ public class PlayerController {
         }
     }
 
+    @GetMapping("/availability")
+    public ResponseEntity<AvailabilityDTO> checkAvailability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email) {
+        if (username == null && email == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(playerService.checkAvailability(username, email));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<PlayerSearchResultDTO>> searchPlayers(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (prefix.isBlank() || limit < 1 || limit > 100) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(playerService.searchByUsernamePrefix(prefix, limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<PlayerDTO> getPlayer(@PathVariable Long id) {
         try {
-            return ResponseEntity.ok(playerService.getPlayerById(id));
+            return ResponseEntity.ok(playerReads.load(id, () -> playerService.getPlayerById(id)));
         } catch (PlayerNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
@@ -67,6 +94,7 @@ public class PlayerController {
     }
 
     @PutMapping("/{id}/points")
+    @AdmissionPriority(Priority.CRITICAL)
     public ResponseEntity<PlayerDTO> updatePlayerTotalPoints(@PathVariable Long id, @Valid @RequestBody PlayerPointsRequestDTO pointsRequestDTO) {
         try {
             return ResponseEntity.ok(playerService.updatePlayerPoints(id, pointsRequestDTO));
@@ -77,6 +105,13 @@ public class PlayerController {
         }
     }
 
+    @PutMapping("/ratings")
+    @AdmissionPriority(Priority.CRITICAL)
+    public ResponseEntity<Void> updatePlayerRatings(@Valid @RequestBody List<@Valid PlayerRatingDTO> ratings) {
+        playerService.updateRatings(ratings);
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping("/{id}/friends")
     public ResponseEntity<PlayerDTO> addFriend(@PathVariable Long id, @Valid @RequestBody PlayerIdRequestDTO request) {
         try {
@@ -0,0 +1,99 @@
+package com.ludonexus.playersphere.controller;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ludonexus.playersphere.dto.SqlProfileDTO;
+import com.ludonexus.playersphere.dto.SqlStatementStatsDTO;
+import com.ludonexus.playersphere.profiling.SqlProfiler;
+import com.ludonexus.playersphere.profiling.StatementStats;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/admin/sql")
+@RequiredArgsConstructor
+public class SqlProfilingController {
+    private final SqlProfiler sqlProfiler;
+
+    // Trié par temps total décroissant : les requêtes qui coûtent le plus en premier
+    @GetMapping
+    public ResponseEntity<SqlProfileDTO> getProfile(
+            @RequestParam(required = false) String endpoint,
+            @RequestParam(defaultValue = "50") int limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<SqlStatementStatsDTO> statements = sqlProfiler.getStatements().stream()
+            .filter(stats -> endpoint == null || stats.getEndpoint().equals(endpoint))
+            .sorted(Comparator.comparingLong(StatementStats::getTotalNanos).reversed())
+            .limit(limit)
+            .map(this::toDTO)
+            .toList();
+
+        SqlProfileDTO profile = new SqlProfileDTO();
+        profile.setEnabled(sqlProfiler.isEnabled());
+        profile.setSince(sqlProfiler.getSince());
+        profile.setStatements(statements);
+        return ResponseEntity.ok(profile);
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> reset() {
+        sqlProfiler.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    private SqlStatementStatsDTO toDTO(StatementStats stats) {
+        long[] histogram = stats.getHistogram();
+        long count = 0;
+        for (long bucket : histogram) count += bucket;
+
+        SqlStatementStatsDTO dto = new SqlStatementStatsDTO();
+        dto.setEndpoint(stats.getEndpoint());
+        dto.setFingerprint(stats.getFingerprint());
+        dto.setCount(stats.getCount());
+        dto.setErrors(stats.getErrors());
+        dto.setRows(stats.getRows());
+        dto.setTotalMillis(stats.getTotalNanos() / 1e6);
+        dto.setMeanMillis(stats.getCount() > 0 ? stats.getTotalNanos() / 1e6 / stats.getCount() : 0);
+        dto.setMaxMillis(stats.getMaxNanos() / 1e6);
+        dto.setP50Millis(percentile(histogram, count, 0.50, dto.getMaxMillis()));
+        dto.setP95Millis(percentile(histogram, count, 0.95, dto.getMaxMillis()));
+        dto.setP99Millis(percentile(histogram, count, 0.99, dto.getMaxMillis()));
+
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < histogram.length; i++) {
+            buckets.put(i < StatementStats.BUCKET_BOUNDS_MICROS.length
+                ? "<=" + StatementStats.BUCKET_BOUNDS_MICROS[i] / 1e3 + "ms"
+                : ">" + StatementStats.BUCKET_BOUNDS_MICROS[i - 1] / 1e3 + "ms", histogram[i]);
+        }
+        dto.setHistogram(buckets);
+        return dto;
+    }
+
+    // Borne haute du bucket qui contient le quantile, plafonnée par le maximum observé
+    private double percentile(long[] histogram, long count, double quantile, double maxMillis) {
+        if (count == 0) return 0;
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= rank) {
+                return i < StatementStats.BUCKET_BOUNDS_MICROS.length
+                    ? Math.min(StatementStats.BUCKET_BOUNDS_MICROS[i] / 1e3, maxMillis)
+                    : maxMillis;
+            }
+        }
+        return maxMillis;
+    }
+}
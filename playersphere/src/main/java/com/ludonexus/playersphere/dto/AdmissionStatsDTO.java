@@ -0,0 +1,19 @@
+package com.ludonexus.playersphere.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class AdmissionStatsDTO {    // Utilisé pour exposer l'état du contrôle d'admission
+    private boolean enabled;
+    private int globalLimit;
+    private int globalInFlight;
+    private double globalLatencyMillis;
+    private long admitted;
+    private long throttled;
+    private long shed;
+    private int clients;
+    private List<EndpointAdmissionDTO> endpoints = new ArrayList<>();
+}
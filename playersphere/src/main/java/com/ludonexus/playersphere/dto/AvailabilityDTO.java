@@ -0,0 +1,11 @@
+package com.ludonexus.playersphere.dto;
+
+import lombok.Data;
+
+@Data
+public class AvailabilityDTO {
+    private String username;
+    private Boolean usernameAvailable;
+    private String email;
+    private Boolean emailAvailable;
+}
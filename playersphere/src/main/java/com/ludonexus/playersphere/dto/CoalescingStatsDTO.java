@@ -0,0 +1,14 @@
+package com.ludonexus.playersphere.dto;
+
+import lombok.Data;
+
+@Data
+public class CoalescingStatsDTO {    // Utilisé pour exposer les compteurs d'un SingleFlight
+    private String name;
+    private long calls;
+    private long loads;
+    private long coalesced;
+    private double coalescingRatio;
+    private long savedQueries;
+    private int inFlight;
+}
@@ -0,0 +1,19 @@
+package com.ludonexus.playersphere.dto;
+
+import com.ludonexus.playersphere.admission.Priority;
+
+import lombok.Data;
+
+@Data
+public class EndpointAdmissionDTO {    // Utilisé pour exposer les compteurs d'admission d'un endpoint
+    private String endpoint;
+    private Priority priority;
+    private int limit;
+    private int inFlight;
+    private double latencyMillis;
+    private double baselineLatencyMillis;
+    private long admitted;
+    private long throttled;
+    private long shed;
+    private double rejectionRatio;
+}
@@ -29,6 +29,11 @@ public class PlayerDTO {
     @PositiveOrZero
     private Integer totalPoints = 0;
 
+    // Lecture seule, mis à jour par BattleForge
+    private Double rating;
+
+    private Double ratingDeviation;
+
     @NotNull
     private List<FriendDTO> friends = new ArrayList<>();
 }
\ No newline at end of file
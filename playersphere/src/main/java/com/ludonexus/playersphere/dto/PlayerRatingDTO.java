@@ -0,0 +1,16 @@
+package com.ludonexus.playersphere.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class PlayerRatingDTO {    // Utilisé pour recevoir les classements calculés par BattleForge
+    @NotNull
+    private Long playerId;
+
+    @NotNull
+    private Double rating;
+
+    @NotNull
+    private Double deviation;
+}
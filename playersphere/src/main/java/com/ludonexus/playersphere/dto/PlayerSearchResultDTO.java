@@ -0,0 +1,10 @@
+package com.ludonexus.playersphere.dto;
+
+import lombok.Data;
+
+@Data
+public class PlayerSearchResultDTO {
+    private Long id;
+    private String username;
+    private Integer totalPoints;
+}
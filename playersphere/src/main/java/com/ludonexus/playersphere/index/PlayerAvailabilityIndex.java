@@ -0,0 +1,68 @@
+package com.ludonexus.playersphere.index;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-memory pre-filter of taken usernames and emails. A negative answer is authoritative,
+ * a positive one must be confirmed against the database (false positives, deleted players).
+ * Until the initial load has completed every value is reported as possibly taken.
+ */
+@Component
+public class PlayerAvailabilityIndex {
+    private static final Logger log = LoggerFactory.getLogger(PlayerAvailabilityIndex.class);
+
+    private final BloomFilter usernames;
+    private final BloomFilter emails;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private volatile boolean loaded;
+
+    public PlayerAvailabilityIndex(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${ludonexus.availability.expected-players:1000000}") long expectedPlayers,
+            @Value("${ludonexus.availability.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.usernames = new BloomFilter(expectedPlayers, falsePositiveRate);
+        this.emails = new BloomFilter(expectedPlayers, falsePositiveRate);
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(10_000);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        // Curseur côté serveur : PostgreSQL ne respecte le fetch size qu'à l'intérieur d'une transaction
+        long count = transactionTemplate.execute(status -> {
+            long[] rows = new long[1];
+            jdbcTemplate.query("SELECT username, email FROM players", rs -> {
+                usernames.add(rs.getString(1));
+                emails.add(rs.getString(2));
+                rows[0]++;
+            });
+            return rows[0];
+        });
+        loaded = true;
+        log.info("Availability index loaded with {} players in {} ms", count, System.currentTimeMillis() - start);
+    }
+
+    public void add(String username, String email) {
+        usernames.add(username);
+        emails.add(email);
+    }
+
+    public boolean mightContainUsername(String username) {
+        return !loaded || usernames.mightContain(username);
+    }
+
+    public boolean mightContainEmail(String email) {
+        return !loaded || emails.mightContain(email);
+    }
+}
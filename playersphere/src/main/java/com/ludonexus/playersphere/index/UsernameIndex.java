@@ -0,0 +1,262 @@
+package com.ludonexus.playersphere.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-memory username index answering "top k players by total points whose username starts with".
+ *
+ * The bulk of the players lives in an immutable snapshot: usernames sorted case-insensitively,
+ * so a prefix is a contiguous range found by binary search, and a segment tree of the range maximum
+ * of the points, so the k best of a range are extracted in O(k log n) whatever its size.
+ * Changes since the snapshot are kept in a small sorted delta that overrides it, and are merged
+ * into a new snapshot in the background once the delta grows past a threshold.
+ */
+@Component
+public class UsernameIndex {
+    private static final Logger log = LoggerFactory.getLogger(UsernameIndex.class);
+
+    public record Entry(long id, String username, int totalPoints) {
+        boolean deleted() {
+            return username == null;
+        }
+
+        String key() {
+            return keyOf(username, id);
+        }
+    }
+
+    private static final Comparator<Entry> RANKING = Comparator.comparingInt(Entry::totalPoints).reversed()
+        .thenComparing(Entry::key);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int mergeThreshold;
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final AtomicBoolean merging = new AtomicBoolean();
+
+    // Modifications postérieures au snapshot, par id (suppressions comprises) et par clé triée
+    private final Map<Long, Entry> changes = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Entry> delta = new ConcurrentSkipListMap<>();
+    private volatile Snapshot snapshot = Snapshot.build(new Entry[0]);
+
+    public UsernameIndex(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${ludonexus.search.merge-threshold:50000}") int mergeThreshold) {
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(10_000);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.mergeThreshold = mergeThreshold;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        List<Entry> entries = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.query("SELECT id, username, total_points FROM players", rs -> {
+                entries.add(new Entry(rs.getLong(1), rs.getString(2), rs.getInt(3)));
+            }));
+        Entry[] sorted = entries.toArray(new Entry[0]);
+        Arrays.sort(sorted, Comparator.comparing(Entry::key));
+        swap(Snapshot.build(sorted), List.of());
+        log.info("Username index loaded with {} players in {} ms", sorted.length, System.currentTimeMillis() - start);
+    }
+
+    public synchronized void put(long id, String username, int totalPoints) {
+        Entry entry = new Entry(id, username, totalPoints);
+        Entry previous = changes.put(id, entry);
+        if (previous != null && !previous.deleted()) {
+            delta.remove(previous.key(), previous);
+        }
+        delta.put(entry.key(), entry);
+        mergeIfNeeded();
+    }
+
+    public synchronized void remove(long id) {
+        Entry previous = changes.put(id, new Entry(id, null, 0));
+        if (previous != null && !previous.deleted()) {
+            delta.remove(previous.key(), previous);
+        }
+        mergeIfNeeded();
+    }
+
+    public List<Entry> search(String prefix, int limit) {
+        String from = prefix.toLowerCase(Locale.ROOT);
+        String to = from + Character.MAX_VALUE;
+
+        swapLock.readLock().lock();
+        try {
+            PriorityQueue<Entry> best = new PriorityQueue<>(RANKING.reversed());
+            for (Entry entry : delta.subMap(from, to).values()) {
+                offer(best, entry, limit);
+            }
+
+            Snapshot current = snapshot;
+            int lo = current.lowerBound(from);
+            int hi = current.lowerBound(to);
+            PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> current.compare(a[2], b[2]));
+            if (lo < hi) ranges.add(new int[] { lo, hi, current.argMax(lo, hi) });
+
+            int taken = 0;
+            while (!ranges.isEmpty() && taken < limit) {
+                int[] range = ranges.poll();
+                int i = range[2];
+                if (!changes.containsKey(current.entries[i].id())) {
+                    offer(best, current.entries[i], limit);
+                    taken++;
+                }
+                if (range[0] < i) ranges.add(new int[] { range[0], i, current.argMax(range[0], i) });
+                if (i + 1 < range[1]) ranges.add(new int[] { i + 1, range[1], current.argMax(i + 1, range[1]) });
+            }
+
+            List<Entry> result = new ArrayList<>(best);
+            result.sort(RANKING);
+            return result;
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private static void offer(PriorityQueue<Entry> best, Entry entry, int limit) {
+        best.add(entry);
+        if (best.size() > limit) best.poll();
+    }
+
+    private void mergeIfNeeded() {
+        if (changes.size() < mergeThreshold || !merging.compareAndSet(false, true)) return;
+        List<Entry> merged = new ArrayList<>(changes.values());
+        Thread thread = new Thread(() -> {
+            try {
+                swap(snapshot.merge(merged), merged);
+            } catch (RuntimeException e) {
+                log.error("Username index merge failed", e);
+            } finally {
+                merging.set(false);
+            }
+        }, "username-index-merge");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Les changements intégrés au nouveau snapshot ne sont retirés que s'ils n'ont pas été remplacés entre-temps
+    private synchronized void swap(Snapshot next, List<Entry> merged) {
+        swapLock.writeLock().lock();
+        try {
+            snapshot = next;
+            for (Entry entry : merged) {
+                if (changes.remove(entry.id(), entry) && !entry.deleted()) {
+                    delta.remove(entry.key(), entry);
+                }
+            }
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    static String keyOf(String username, long id) {
+        return username.toLowerCase(Locale.ROOT) + '\u0000' + id;
+    }
+
+    private static final class Snapshot {
+        private final Entry[] entries;
+        private final String[] keys;
+        private final int size;
+        // tree[node] = indice du meilleur joueur du sous-arbre, feuilles à partir de size
+        private final int[] tree;
+
+        private Snapshot(Entry[] entries) {
+            this.entries = entries;
+            this.keys = new String[entries.length];
+            for (int i = 0; i < entries.length; i++) {
+                keys[i] = entries[i].key();
+            }
+            int s = 1;
+            while (s < Math.max(1, entries.length)) s <<= 1;
+            this.size = s;
+            this.tree = new int[2 * s];
+            Arrays.fill(tree, -1);
+            for (int i = 0; i < entries.length; i++) {
+                tree[s + i] = i;
+            }
+            for (int node = s - 1; node > 0; node--) {
+                tree[node] = better(tree[2 * node], tree[2 * node + 1]);
+            }
+        }
+
+        static Snapshot build(Entry[] sortedEntries) {
+            return new Snapshot(sortedEntries);
+        }
+
+        Snapshot merge(List<Entry> changed) {
+            Map<Long, Entry> byId = new HashMap<>();
+            for (Entry entry : changed) byId.put(entry.id(), entry);
+            Entry[] added = changed.stream().filter(e -> !e.deleted()).sorted(Comparator.comparing(Entry::key))
+                .toArray(Entry[]::new);
+
+            List<Entry> result = new ArrayList<>(entries.length + added.length);
+            int a = 0;
+            for (int i = 0; i < entries.length; i++) {
+                if (byId.containsKey(entries[i].id())) continue;
+                while (a < added.length && added[a].key().compareTo(keys[i]) < 0) {
+                    result.add(added[a++]);
+                }
+                result.add(entries[i]);
+            }
+            while (a < added.length) result.add(added[a++]);
+            return new Snapshot(result.toArray(new Entry[0]));
+        }
+
+        int lowerBound(String key) {
+            int lo = 0;
+            int hi = keys.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys[mid].compareTo(key) < 0) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        /** Index of the best ranked entry in [lo, hi). */
+        int argMax(int lo, int hi) {
+            int best = -1;
+            for (int l = lo + size, r = hi + size; l < r; l >>= 1, r >>= 1) {
+                if ((l & 1) == 1) best = better(best, tree[l++]);
+                if ((r & 1) == 1) best = better(best, tree[--r]);
+            }
+            return best;
+        }
+
+        int compare(int i, int j) {
+            int byPoints = Integer.compare(entries[j].totalPoints(), entries[i].totalPoints());
+            return byPoints != 0 ? byPoints : Integer.compare(i, j);
+        }
+
+        private int better(int i, int j) {
+            if (i < 0) return j;
+            if (j < 0) return i;
+            return compare(i, j) <= 0 ? i : j;
+        }
+    }
+}
@@ -27,6 +27,11 @@ public class Player {
 
     private Integer totalPoints = 0;
 
+    // Classement Glicko-2 calculé par BattleForge sur les parties RANKED
+    private Double rating;
+
+    private Double ratingDeviation;
+
     @OneToMany(mappedBy = "player", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Friendship> friendships = new ArrayList<>();
 }
\ No newline at end of file
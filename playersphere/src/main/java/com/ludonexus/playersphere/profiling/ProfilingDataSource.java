@@ -0,0 +1,182 @@
+package com.ludonexus.playersphere.profiling;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Times every statement executed through the connections it hands out and counts the rows
+ * they return or update. Only installed when profiling is enabled, the DataSource is used
+ * untouched otherwise.
+ */
+public class ProfilingDataSource extends DelegatingDataSource implements AutoCloseable {
+    private static final ClassLoader CLASS_LOADER = ProfilingDataSource.class.getClassLoader();
+
+    private final SqlProfiler profiler;
+
+    public ProfilingDataSource(DataSource target, SqlProfiler profiler) {
+        super(target);
+        this.profiler = profiler;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[] { type }, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = ProfilingDataSource.invoke(connection, method, args);
+            String name = method.getName();
+            if (result instanceof Statement statement
+                    && (name.startsWith("prepare") || name.equals("createStatement"))) {
+                String sql = name.startsWith("prepare") ? (String) args[0] : null;
+                return proxy(method.getReturnType(), new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String sql;
+        private final List<Object> binds = new ArrayList<>();
+        private StatementStats lastStats;
+
+        StatementHandler(Statement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+
+            Object result = ProfilingDataSource.invoke(statement, method, args);
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                binds.clear();
+            } else if (name.equals("getResultSet") && result instanceof ResultSet resultSet && lastStats != null) {
+                return proxy(ResultSet.class, new ResultSetHandler(resultSet, lastStats));
+            }
+            return result;
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            if (executed == null) executed = "(batch)";
+            StatementStats stats = profiler.statsFor(executed);
+            lastStats = stats;
+
+            long start = System.nanoTime();
+            boolean failed = true;
+            Object result;
+            try {
+                result = ProfilingDataSource.invoke(statement, method, args);
+                failed = false;
+            } finally {
+                profiler.recordExecution(stats, executed, System.nanoTime() - start, failed, binds);
+            }
+
+            if (result instanceof ResultSet resultSet) {
+                return proxy(ResultSet.class, new ResultSetHandler(resultSet, stats));
+            }
+            if (result instanceof Number count) {
+                stats.addRows(count.longValue());
+            } else if (result instanceof int[] counts) {
+                for (int count : counts) stats.addRows(count);
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) stats.addRows(count);
+            } else if (Boolean.FALSE.equals(result)) {
+                stats.addRows(statement.getUpdateCount());
+            }
+            return result;
+        }
+
+        private void bind(int index, Object value) {
+            while (binds.size() < index) binds.add(null);
+            binds.set(index - 1, value);
+        }
+    }
+
+    private static class ResultSetHandler implements InvocationHandler {
+        private final ResultSet resultSet;
+        private final StatementStats stats;
+        private long rows;
+        private boolean recorded;
+
+        ResultSetHandler(ResultSet resultSet, StatementStats stats) {
+            this.resultSet = resultSet;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = ProfilingDataSource.invoke(resultSet, method, args);
+            String name = method.getName();
+            if (name.equals("next")) {
+                if (Boolean.TRUE.equals(result)) {
+                    rows++;
+                } else {
+                    record();
+                }
+            } else if (name.equals("close")) {
+                record();
+            }
+            return result;
+        }
+
+        private void record() {
+            if (!recorded) {
+                recorded = true;
+                stats.addRows(rows);
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.ludonexus.playersphere.profiling;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.ludonexus.playersphere.config.SqlProfilingProperties;
+
+/**
+ * Aggregates the statements seen by {@link ProfilingDataSource} per endpoint and fingerprint,
+ * and logs a sample of the slow ones with their bind parameters (string values masked unless
+ * log-string-binds is set).
+ */
+@Component
+public class SqlProfiler {
+    private static final Logger log = LoggerFactory.getLogger(SqlProfiler.class);
+    private static final String OTHER = "(other)";
+    private static final int MAX_CACHED_FINGERPRINTS = 10_000;
+
+    private final SqlProfilingProperties properties;
+    private final long slowThresholdNanos;
+    private final ConcurrentMap<String, String> fingerprints = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Key, StatementStats> statements = new ConcurrentHashMap<>();
+    private volatile Instant since = Instant.now();
+
+    private record Key(String endpoint, String fingerprint) {
+    }
+
+    public SqlProfiler(SqlProfilingProperties properties) {
+        this.properties = properties;
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public Instant getSince() {
+        return since;
+    }
+
+    public StatementStats statsFor(String sql) {
+        Key key = new Key(EndpointContext.current(), fingerprint(sql));
+        StatementStats stats = statements.get(key);
+        if (stats != null) {
+            return stats;
+        }
+        if (statements.size() >= properties.getMaxStatements()) {
+            key = new Key(key.endpoint(), OTHER);
+        }
+        return statements.computeIfAbsent(key, k -> new StatementStats(k.endpoint(), k.fingerprint()));
+    }
+
+    public void recordExecution(StatementStats stats, String sql, long nanos, boolean failed, List<Object> binds) {
+        stats.recordExecution(nanos, failed);
+        if (nanos >= slowThresholdNanos && ThreadLocalRandom.current().nextDouble() < properties.getSlowSampleRate()) {
+            log.warn("Slow query ({} ms) on {}: {} binds={}",
+                nanos / 1_000_000, stats.getEndpoint(), sql, formatBinds(binds));
+        }
+    }
+
+    public List<StatementStats> getStatements() {
+        return new ArrayList<>(statements.values());
+    }
+
+    public void reset() {
+        statements.clear();
+        since = Instant.now();
+    }
+
+    private String fingerprint(String sql) {
+        String fingerprint = fingerprints.get(sql);
+        if (fingerprint == null) {
+            fingerprint = SqlFingerprint.of(sql);
+            if (fingerprints.size() < MAX_CACHED_FINGERPRINTS) {
+                fingerprints.put(sql, fingerprint);
+            }
+        }
+        return fingerprint;
+    }
+
+    private String formatBinds(List<Object> binds) {
+        StringBuilder out = new StringBuilder("[");
+        for (int i = 0; i < binds.size(); i++) {
+            if (i > 0) out.append(", ");
+            Object value = binds.get(i);
+            String text = value == null ? "NULL"
+                : value instanceof String ? (properties.isLogStringBinds() ? "'" + value + "'" : "'***'")
+                : String.valueOf(value);
+            if (text.length() > properties.getMaxBindLength()) {
+                text = text.substring(0, properties.getMaxBindLength()) + "...";
+            }
+            out.append(text);
+        }
+        return out.append(']').toString();
+    }
+}
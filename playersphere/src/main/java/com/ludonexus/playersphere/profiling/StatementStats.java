@@ -0,0 +1,82 @@
+package com.ludonexus.playersphere.profiling;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of one statement fingerprint on one endpoint, with a latency histogram
+ * on fixed buckets (upper bounds in microseconds, the last bucket being unbounded).
+ */
+public class StatementStats {
+    public static final long[] BUCKET_BOUNDS_MICROS = {
+        100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000,
+        100_000, 250_000, 500_000, 1_000_000, 2_500_000
+    };
+
+    private final String endpoint;
+    private final String fingerprint;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKET_BOUNDS_MICROS.length + 1);
+
+    public StatementStats(String endpoint, String fingerprint) {
+        this.endpoint = endpoint;
+        this.fingerprint = fingerprint;
+    }
+
+    public void recordExecution(long nanos, boolean failed) {
+        count.increment();
+        if (failed) errors.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+
+        long micros = nanos / 1_000;
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS_MICROS.length && micros > BUCKET_BOUNDS_MICROS[bucket]) bucket++;
+        histogram.incrementAndGet(bucket);
+    }
+
+    public void addRows(long count) {
+        if (count > 0) rows.add(count);
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public long[] getHistogram() {
+        long[] counts = new long[histogram.length()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = histogram.get(i);
+        }
+        return counts;
+    }
+}
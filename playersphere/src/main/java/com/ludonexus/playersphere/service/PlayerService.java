@@ -1,11 +1,17 @@
 package com.ludonexus.playersphere.service;
 
+import com.ludonexus.playersphere.concurrent.SingleFlight;
+import com.ludonexus.playersphere.dto.AvailabilityDTO;
 import com.ludonexus.playersphere.dto.PlayerDTO;
 import com.ludonexus.playersphere.dto.PlayerPointsRequestDTO;
+import com.ludonexus.playersphere.dto.PlayerRatingDTO;
+import com.ludonexus.playersphere.dto.PlayerSearchResultDTO;
 import com.ludonexus.playersphere.exception.InvalidFriendshipException;
 import com.ludonexus.playersphere.exception.PlayerAlreadyExistsException;
 import com.ludonexus.playersphere.exception.PlayerNotFoundException;
 import com.ludonexus.playersphere.dto.FriendDTO;
+import com.ludonexus.playersphere.index.PlayerAvailabilityIndex;
+import com.ludonexus.playersphere.index.UsernameIndex;
 import com.ludonexus.playersphere.model.Friendship;
 import com.ludonexus.playersphere.model.Player;
 import com.ludonexus.playersphere.repository.FriendshipRepository;
@@ -15,35 +21,79 @@ import lombok.RequiredArgsConstructor;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.BeanUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class PlayerService {
+    private static final int RATINGS_BATCH_SIZE = 500;
+
     private final PlayerRepository playerRepository;
     private final FriendshipRepository friendshipRepository;
+    private final PlayerAvailabilityIndex availabilityIndex;
+    private final UsernameIndex usernameIndex;
+    private final SingleFlight<Long, PlayerDTO> playerReads;
+    private final JdbcTemplate jdbcTemplate;
 
     public PlayerDTO createPlayer(PlayerDTO playerDTO) {
-        if (playerRepository.existsByUsername(playerDTO.getUsername())) {
-            throw new PlayerAlreadyExistsException("Username already exists: " + playerDTO.getUsername());
-        }
-        if (playerRepository.existsByEmail(playerDTO.getEmail())) {
-            throw new PlayerAlreadyExistsException("Email already exists: " + playerDTO.getEmail());
-        }
-
         Player player = new Player();
-        BeanUtils.copyProperties(playerDTO, player, "id", "friends");
-        player = playerRepository.save(player);
+        BeanUtils.copyProperties(playerDTO, player, "id", "friends", "rating", "ratingDeviation");
+
+        // L'INSERT est exécuté immédiatement (IDENTITY) : les contraintes UNIQUE font foi, sans SELECT préalable
+        try {
+            player = playerRepository.save(player);
+        } catch (DataIntegrityViolationException e) {
+            throw toAlreadyExists(e, playerDTO);
+        }
+        availabilityIndex.add(player.getUsername(), player.getEmail());
+        indexAfterCommit(player);
         return toDTO(player);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<PlayerSearchResultDTO> searchByUsernamePrefix(String prefix, int limit) {
+        return usernameIndex.search(prefix, limit).stream()
+            .map(entry -> {
+                PlayerSearchResultDTO dto = new PlayerSearchResultDTO();
+                dto.setId(entry.id());
+                dto.setUsername(entry.username());
+                dto.setTotalPoints(entry.totalPoints());
+                return dto;
+            })
+            .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public AvailabilityDTO checkAvailability(String username, String email) {
+        AvailabilityDTO dto = new AvailabilityDTO();
+        if (username != null) {
+            dto.setUsername(username);
+            dto.setUsernameAvailable(!availabilityIndex.mightContainUsername(username)
+                || !playerRepository.existsByUsername(username));
+        }
+        if (email != null) {
+            dto.setEmail(email);
+            dto.setEmailAvailable(!availabilityIndex.mightContainEmail(email)
+                || !playerRepository.existsByEmail(email));
+        }
+        return dto;
+    }
+
+    @Transactional(readOnly = true)
     public PlayerDTO getPlayerById(Long id) {
         return toDTO(findPlayerById(id));
     }
 
+    @Transactional(readOnly = true)
     public List<PlayerDTO> getAllPlayers() {
         return playerRepository.findAll().stream()
             .map(this::toDTO)
@@ -62,8 +112,12 @@ public class PlayerService {
             throw new PlayerAlreadyExistsException("Email already exists: " + playerDTO.getEmail());
         }
 
-        BeanUtils.copyProperties(playerDTO, player, "id", "friends");
+        BeanUtils.copyProperties(playerDTO, player, "id", "friends", "rating", "ratingDeviation");
         player = playerRepository.save(player);
+        availabilityIndex.add(player.getUsername(), player.getEmail());
+        indexAfterCommit(player);
+        // Le pseudo et le niveau apparaissent aussi dans le profil des amis
+        afterCommit(playerReads::forgetAll);
         return toDTO(player);
     }
 
@@ -71,9 +125,33 @@ public class PlayerService {
         Player player = findPlayerById(id);
         player.setTotalPoints(pointsRequestDTO.getPoints());
         player = playerRepository.save(player);
+        indexAfterCommit(player);
+        afterCommit(() -> playerReads.forget(id));
         return toDTO(player);
     }
 
+    /**
+     * Bulk update of the ratings pushed by BattleForge. Unknown players are skipped.
+     */
+    public int updateRatings(List<PlayerRatingDTO> ratings) {
+        int[][] counts = jdbcTemplate.batchUpdate(
+            "UPDATE players SET rating = ?, rating_deviation = ? WHERE id = ?",
+            ratings, RATINGS_BATCH_SIZE, (ps, rating) -> {
+                ps.setDouble(1, rating.getRating());
+                ps.setDouble(2, rating.getDeviation());
+                ps.setLong(3, rating.getPlayerId());
+            });
+        afterCommit(playerReads::forgetAll);
+
+        int updated = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                updated += Math.max(count, 0);
+            }
+        }
+        return updated;
+    }
+
     public PlayerDTO addFriend(Long playerId, Long friendId) {
         if (playerId.equals(friendId)) {
             throw new InvalidFriendshipException("Player cannot be friends with themselves");
@@ -96,6 +174,10 @@ public class PlayerService {
         reverseFriendship.setPlayer(friend);
         reverseFriendship.setFriend(player);
         friendshipRepository.save(reverseFriendship);
+        afterCommit(() -> {
+            playerReads.forget(playerId);
+            playerReads.forget(friendId);
+        });
 
         return toDTO(player);
     }
@@ -110,6 +192,10 @@ public class PlayerService {
         
         friendshipRepository.deleteByPlayerIdAndFriendId(playerId, friendId);
         friendshipRepository.deleteByPlayerIdAndFriendId(friendId, playerId);
+        afterCommit(() -> {
+            playerReads.forget(playerId);
+            playerReads.forget(friendId);
+        });
     }
 
     public void deletePlayer(Long id) {
@@ -118,6 +204,10 @@ public class PlayerService {
         }
         friendshipRepository.deleteByPlayerIdOrFriendId(id, id);
         playerRepository.deleteById(id);
+        afterCommit(() -> {
+            usernameIndex.remove(id);
+            playerReads.forgetAll();
+        });
     }
 
     private Player findPlayerById(Long id) {
@@ -125,6 +215,33 @@ public class PlayerService {
             .orElseThrow(() -> new PlayerNotFoundException(id));
     }
 
+    private void indexAfterCommit(Player player) {
+        long id = player.getId();
+        String username = player.getUsername();
+        int totalPoints = player.getTotalPoints() == null ? 0 : player.getTotalPoints();
+        afterCommit(() -> usernameIndex.put(id, username, totalPoints));
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private PlayerAlreadyExistsException toAlreadyExists(DataIntegrityViolationException e, PlayerDTO playerDTO) {
+        String constraint = e.getCause() instanceof ConstraintViolationException cve ? cve.getConstraintName() : null;
+        if (constraint != null && constraint.contains("email")) {
+            return new PlayerAlreadyExistsException("Email already exists: " + playerDTO.getEmail());
+        }
+        if (constraint != null && constraint.contains("username")) {
+            return new PlayerAlreadyExistsException("Username already exists: " + playerDTO.getUsername());
+        }
+        return new PlayerAlreadyExistsException("Player already exists: " + playerDTO.getUsername());
+    }
+
     private PlayerDTO toDTO(Player player) {
         PlayerDTO dto = new PlayerDTO();
         BeanUtils.copyProperties(player, dto, "friends");
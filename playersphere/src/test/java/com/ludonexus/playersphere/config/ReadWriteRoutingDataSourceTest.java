@@ -0,0 +1,53 @@
+package com.ludonexus.playersphere.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ludonexus.playersphere.config.ReadWriteRoutingDataSource.Route;
+import com.zaxxer.hikari.HikariDataSource;
+
+class ReadWriteRoutingDataSourceTest {
+    // Le pool n'ouvre aucune connexion tant que checkLag() n'est pas appelé
+    private final HikariDataSource replica = replica();
+    private final ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, Duration.ofSeconds(5));
+    private final ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource(monitor);
+
+    private static HikariDataSource replica() {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setJdbcUrl("jdbc:postgresql://localhost:1/unreachable");
+        replica.setConnectionTimeout(250);
+        return replica;
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        monitor.close();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(Route.REPLICA, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void writesAndNonTransactionalCallsGoToThePrimary() {
+        assertEquals(Route.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhileTheReplicaIsUnreachable() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        monitor.checkLag();
+
+        assertFalse(monitor.isUsable());
+        assertEquals(Route.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+}
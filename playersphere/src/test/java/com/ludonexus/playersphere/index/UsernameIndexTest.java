@@ -0,0 +1,102 @@
+package com.ludonexus.playersphere.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class UsernameIndexTest {
+    private static final String[] PREFIXES = { "", "a", "al", "ali", "B", "bo", "zz", "ALICE" };
+
+    // Aucune connexion n'est ouverte : load() n'est pas appelé
+    private static UsernameIndex index(int mergeThreshold) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:postgresql://localhost:5432/unused");
+        return new UsernameIndex(new JdbcTemplate(dataSource), new DataSourceTransactionManager(dataSource), mergeThreshold);
+    }
+
+    @Test
+    void ranksByPointsThenUsername() {
+        UsernameIndex index = index(1000);
+        index.put(1, "alice", 100);
+        index.put(2, "Alicia", 300);
+        index.put(3, "albert", 300);
+        index.put(4, "bob", 1000);
+        index.put(5, "ALIX", 50);
+
+        assertEquals(List.of(3L, 2L, 1L), ids(index.search("al", 3)));
+        assertEquals(List.of(2L, 1L, 5L), ids(index.search("ALI", 10)));
+        assertEquals(List.of(4L), ids(index.search("b", 10)));
+        assertTrue(index.search("c", 10).isEmpty());
+        assertEquals(List.of(4L, 3L), ids(index.search("", 2)));
+    }
+
+    @Test
+    void updatesAndRemovalsOverrideEarlierEntries() {
+        UsernameIndex index = index(1000);
+        index.put(1, "alice", 100);
+        index.put(2, "albert", 200);
+        index.put(1, "bob", 500);
+        index.remove(2);
+
+        assertTrue(index.search("al", 10).isEmpty());
+        assertEquals(List.of(new UsernameIndex.Entry(1, "bob", 500)), index.search("b", 10));
+    }
+
+    @Test
+    void matchesABruteForceSearchAcrossMerges() throws InterruptedException {
+        UsernameIndex index = index(16);
+        Map<Long, UsernameIndex.Entry> players = new HashMap<>();
+        Random random = new Random(42);
+        String[] names = { "alice", "Alicia", "albert", "bob", "Bobby", "boris", "zzTop", "alix" };
+
+        for (int step = 0; step < 5000; step++) {
+            long id = random.nextInt(300);
+            if (random.nextInt(5) == 0) {
+                index.remove(id);
+                players.remove(id);
+            } else {
+                String username = names[random.nextInt(names.length)] + random.nextInt(20);
+                int points = random.nextInt(1000);
+                index.put(id, username, points);
+                players.put(id, new UsernameIndex.Entry(id, username, points));
+            }
+            if (step % 50 == 0) {
+                assertSearches(index, players);
+            }
+        }
+        // Laisse la dernière fusion en arrière-plan se terminer, le résultat ne doit pas changer
+        Thread.sleep(200);
+        assertSearches(index, players);
+    }
+
+    private static void assertSearches(UsernameIndex index, Map<Long, UsernameIndex.Entry> players) {
+        for (String prefix : PREFIXES) {
+            for (int limit : new int[] { 1, 5, 1000 }) {
+                assertEquals(expected(players, prefix, limit), index.search(prefix, limit), prefix + " / " + limit);
+            }
+        }
+    }
+
+    private static List<UsernameIndex.Entry> expected(Map<Long, UsernameIndex.Entry> players, String prefix, int limit) {
+        String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+        return players.values().stream()
+            .filter(entry -> entry.username().toLowerCase(Locale.ROOT).startsWith(lowerPrefix))
+            .sorted(Comparator.comparingInt(UsernameIndex.Entry::totalPoints).reversed()
+                .thenComparing(entry -> UsernameIndex.keyOf(entry.username(), entry.id())))
+            .limit(limit)
+            .toList();
+    }
+
+    private static List<Long> ids(List<UsernameIndex.Entry> entries) {
+        return entries.stream().map(UsernameIndex.Entry::id).toList();
+    }
+}